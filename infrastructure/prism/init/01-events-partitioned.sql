@@ -0,0 +1,51 @@
+-- Prism write-model, range-partitioned by creation month.
+--
+-- Inserts and their index maintenance only touch the current month's partition, so write cost,
+-- autovacuum work and the WAL Debezium reads stay flat as history grows. Old months are detached,
+-- archived and dropped by EventPartitionMaintenance in prism-command-service, which also creates
+-- upcoming months ahead of time. Hibernate's ddl-auto cannot declare partitions, so the table is
+-- created here on first start of the container.
+
+CREATE TABLE IF NOT EXISTS events (
+    id              uuid                        NOT NULL,
+    source_event_id uuid,
+    title           varchar(255),
+    category        varchar(255),
+    metadata        jsonb,
+    status          varchar(255),
+    created_at      timestamp(6) with time zone NOT NULL,
+    updated_at      timestamp(6) with time zone NOT NULL,
+    version         bigint,
+    -- The partition key must be part of every unique constraint on a partitioned table
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- No DEFAULT partition: creating a month would have to scan it under lock, and could not be done at
+-- all once it held rows of that month. Months are created ahead instead (premake-months), so an
+-- insert outside every partition fails loudly rather than piling up where maintenance cannot reach.
+
+DO $$
+DECLARE
+    current_month date := date_trunc('month', now() AT TIME ZONE 'UTC');
+    lower_bound   date;
+BEGIN
+    FOR ahead IN 0..3 LOOP
+        lower_bound := (current_month + make_interval(months => ahead))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF events FOR VALUES FROM (%L) TO (%L)',
+                       'events_p' || to_char(lower_bound, 'YYYYMM'),
+                       lower_bound || ' 00:00:00+00',
+                       (lower_bound + interval '1 month')::date || ' 00:00:00+00');
+    END LOOP;
+END
+$$;
+
+-- Idempotency keys of ingested TicketSoldEvents. Kept out of the partitioned table because a unique
+-- constraint there would have to include created_at, and a redelivery carries a new created_at.
+CREATE TABLE IF NOT EXISTS ingested_events (
+    source_event_id uuid                        PRIMARY KEY,
+    ingested_at     timestamp(6) with time zone NOT NULL
+);
+
+-- Debezium's default publication, publishing partition changes under the parent table's name,
+-- so the CDC topic stays prism-cdc.public.events whichever month a row lands in
+CREATE PUBLICATION dbz_publication FOR TABLE events WITH (publish_via_partition_root = true);
@@ -0,0 +1,33 @@
+-- Seat inventory, hash-partitioned by event.
+--
+-- Each on-sale's hot rows, index pages and vacuum work stay inside one partition, and per-event
+-- queries (WHERE event_id = ?) are pruned to that partition. Hibernate's ddl-auto cannot declare
+-- partitions, so the table is created here on first start of the container; ddl-auto=update then
+-- finds it and only adds what is missing (e.g. idx_seats_event_available from the Seat entity).
+
+-- Shared by Hibernate's pooled optimizer and the bulk importer: each value owns a block of 50 ids
+CREATE SEQUENCE IF NOT EXISTS seats_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS seats (
+    id          bigint         NOT NULL,
+    event_id    bigint         NOT NULL,
+    event_name  varchar(255),
+    seat_number varchar(255),
+    price       numeric(38, 2),
+    is_reserved boolean        NOT NULL DEFAULT false,
+    version     bigint,
+    -- The partition key must be part of every unique constraint on a partitioned table
+    PRIMARY KEY (event_id, id)
+) PARTITION BY HASH (event_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS seats_p%s PARTITION OF seats FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       remainder, remainder);
+    END LOOP;
+END
+$$;
+
+-- Resolving the event of a seat known only by id (SeatRepository.findEventIdById) probes this index
+CREATE INDEX IF NOT EXISTS idx_seats_id ON seats (id);
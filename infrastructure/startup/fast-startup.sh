@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+#
+# Startup-optimized run mode for the Boot services: Spring AOT + AppCDS + schema validation.
+#
+#   fast-startup.sh build   <module>          AOT build, extracted layout and CDS training run
+#   fast-startup.sh run     <module> [args]   start the service in fast-startup mode
+#   fast-startup.sh compare <module> <url>    time-to-first-successful-request, default vs fast-startup
+#
+# <module> is sentinel-booking-service, prism-command-service or prism-search-service.
+# The training run starts the application context, so the docker-compose infrastructure must be up
+# and the database schema must already exist (fast-startup validates it instead of updating it).
+#
+# AOT freezes bean conditions at build time: @ConditionalOnProperty choices such as
+# sentinel.booking.engine are taken from the build-time configuration.
+set -euo pipefail
+
+command="${1:?usage: $0 build|run|compare <module> [...]}"
+module="${2:?module required}"
+root="$(cd "$(dirname "$0")/../.." && pwd)"
+version="1.0.0-SNAPSHOT"
+jar="$root/$module/target/$module-$version.jar"
+# sentinel-booking-service builds its executable jar with the exec classifier (its plain jar is a library)
+if [[ "$module" == sentinel-booking-service ]]; then
+  jar="$root/$module/target/$module-$version-exec.jar"
+fi
+layout="$root/$module/target/fast-startup"
+app="$layout/$(basename "$jar")"
+fast_opts=(-XX:SharedArchiveFile="$layout/application.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+
+case "$command" in
+  build)
+    mvn -q -f "$root/pom.xml" -pl "$module" -am -Pfast-startup -DskipTests package
+    rm -rf "$layout"
+    java -Djarmode=tools -jar "$jar" extract --destination "$layout"
+    # Training run: refresh the context, then exit and dump every class loaded on the way
+    java -XX:ArchiveClassesAtExit="$layout/application.jsa" -Dspring.aot.enabled=true \
+         -Dspring.profiles.active=fast-startup -Dspring.context.exit=onRefresh \
+         -jar "$app"
+    echo "CDS archive written to $layout/application.jsa"
+    ;;
+  run)
+    shift 2
+    exec java "${fast_opts[@]}" -jar "$app" "$@"
+    ;;
+  compare)
+    url="${3:?url of a cheap endpoint, e.g. http://localhost:8080/api/v1/bookings/availability}"
+    timer=(java -cp "$root/nexus-benchmarks/target/benchmarks.jar" com.nexus.benchmarks.StartupTimer --url "$url" --runs 5 --)
+    echo "== default"
+    "${timer[@]}" java -jar "$jar"
+    echo "== fast-startup (AOT + CDS + schema validation)"
+    "${timer[@]}" java "${fast_opts[@]}" -jar "$app"
+    ;;
+  *)
+    echo "unknown command: $command" >&2
+    exit 2
+    ;;
+esac
@@ -0,0 +1,63 @@
+package com.nexus.benchmarks;
+
+import java.util.UUID;
+
+/**
+ * Representative {@code prism-cdc.public.events} records, shaped like Debezium's {@code JsonConverter}
+ * output for the Prism {@code events} table: the full envelope with schemas, and the lean record of
+ * {@code infrastructure/debezium-config.json} (schemas disabled, flattened by {@code ExtractNewRecordState}).
+ */
+final class CdcEnvelopes {
+
+    private static final String FIELDS = """
+            [{"type":"string","optional":false,"name":"io.debezium.data.Uuid","version":1,"field":"id"},
+             {"type":"string","optional":true,"field":"category"},
+             {"type":"string","optional":true,"name":"io.debezium.data.Json","version":1,"field":"metadata"},
+             {"type":"string","optional":true,"field":"status"},
+             {"type":"string","optional":true,"field":"title"}]""";
+
+    private static final String SCHEMA = """
+            {"type":"struct","fields":[
+              {"type":"struct","fields":%1$s,"optional":true,"name":"prism-cdc.public.events.Value","field":"before"},
+              {"type":"struct","fields":%1$s,"optional":true,"name":"prism-cdc.public.events.Value","field":"after"},
+              {"type":"struct","fields":[
+                {"type":"string","optional":false,"field":"version"},
+                {"type":"string","optional":false,"field":"connector"},
+                {"type":"string","optional":false,"field":"name"},
+                {"type":"int64","optional":false,"field":"ts_ms"},
+                {"type":"string","optional":false,"field":"db"},
+                {"type":"string","optional":false,"field":"schema"},
+                {"type":"string","optional":false,"field":"table"},
+                {"type":"int64","optional":true,"field":"txId"},
+                {"type":"int64","optional":true,"field":"lsn"}],
+               "optional":false,"name":"io.debezium.connector.postgresql.Source","field":"source"},
+              {"type":"string","optional":false,"field":"op"},
+              {"type":"int64","optional":true,"field":"ts_ms"}],
+             "optional":false,"name":"prism-cdc.public.events.Envelope","version":1}""".formatted(FIELDS);
+
+    private static final String PAYLOAD = """
+            {"before":null,
+             "after":{"id":"%s","category":"TICKETING",
+                      "metadata":"{\\"source\\":\\"SENTINEL\\",\\"seat_id\\":\\"48213\\",\\"external_status\\":\\"RESERVED\\",\\"occurred_at\\":\\"2025-10-09T08:53:20.123Z\\"}",
+                      "status":"RECEIVED","title":"Seat Reservation: 48213"},
+             "source":{"version":"2.5.0.Final","connector":"postgresql","name":"prism-cdc","ts_ms":1760000000123,
+                       "db":"prism_core","schema":"public","table":"events","txId":7811,"lsn":24023128},
+             "op":"c","ts_ms":1760000000456}""";
+
+    private static final String FLATTENED = """
+            {"id":"%s","source_event_id":null,"title":"Seat Reservation: 48213","category":"TICKETING",
+             "metadata":"{\\"source\\":\\"SENTINEL\\",\\"seat_id\\":\\"48213\\",\\"external_status\\":\\"RESERVED\\",\\"occurred_at\\":\\"2025-10-09T08:53:20.123Z\\"}",
+             "status":"RECEIVED","created_at":"2025-10-09T08:53:20.456Z","updated_at":"2025-10-09T08:53:20.456Z",
+             "version":0,"__op":"c","__deleted":"false"}""";
+
+    private CdcEnvelopes() {
+    }
+
+    static String withSchema(UUID id) {
+        return "{\"schema\":" + SCHEMA + ",\"payload\":" + PAYLOAD.formatted(id) + "}";
+    }
+
+    static String flattened(UUID id) {
+        return FLATTENED.formatted(id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nexus.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.nexus.schema.ticketing.TicketSoldEventCodec;
+import com.nexus.schema.ticketing.TicketSoldEventDeserializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record decode cost in {@code SentinelIngestor}: the original String payload plus
+ * {@code readTree} walk for two fields, versus the shared deserializer on binary and legacy JSON input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestorParsingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TicketSoldEventDeserializer deserializer = new TicketSoldEventDeserializer();
+
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void prepare() throws IOException {
+        TicketSoldEvent event = TicketSoldEvent.create(48_213L);
+        json = objectMapper.writeValueAsBytes(event);
+        binary = TicketSoldEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public void readTreeFromString(Blackhole bh) throws IOException {
+        // StringDeserializer + ObjectMapper.readTree, as in the original ingestor
+        JsonNode root = objectMapper.readTree(new String(json, StandardCharsets.UTF_8));
+        bh.consume(root.path("status").asText("UNKNOWN"));
+        bh.consume(root.path("timestamp").asText());
+    }
+
+    @Benchmark
+    public TicketSoldEvent sharedDeserializerJson() {
+        return deserializer.deserialize("sentinel.public.ticketing", json);
+    }
+
+    @Benchmark
+    public TicketSoldEvent sharedDeserializerBinary() {
+        return deserializer.deserialize("sentinel.public.ticketing", binary);
+    }
+}
@@ -0,0 +1,66 @@
+package com.nexus.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.cdc.CdcChangeParser;
+import com.nexus.cdc.CdcChangeParser.CdcChange;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of {@code EventProjector}: reading a Debezium {@code JsonConverter} record and
+ * mapping the row to the search document fields.
+ * <p>
+ * {@code readTreeMapping} is the original tree-based read of the schema-enabled envelope, kept as the
+ * baseline. The other two run the projector's own {@link CdcChangeParser}, once on the same envelope and
+ * once on the lean flattened record; run with {@code -prof gc} to compare allocation per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectorMappingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CdcChangeParser parser = new CdcChangeParser(objectMapper);
+
+    private String envelope;
+    private String flattened;
+
+    @Setup
+    public void prepare() {
+        UUID id = UUID.randomUUID();
+        envelope = CdcEnvelopes.withSchema(id);
+        flattened = CdcEnvelopes.flattened(id);
+    }
+
+    @Benchmark
+    public CdcChange readTreeMapping() throws IOException {
+        JsonNode payload = objectMapper.readTree(envelope).path("payload");
+        String op = payload.path("op").asText();
+        if ("d".equals(op)) {
+            return null;
+        }
+        JsonNode after = payload.path("after");
+        return new CdcChange(op, false,
+                UUID.fromString(after.path("id").asText()),
+                after.path("title").asText(),
+                after.path("category").asText(),
+                after.path("status").asText());
+    }
+
+    @Benchmark
+    public CdcChange streamingMapping() throws IOException {
+        return parser.parse(envelope);
+    }
+
+    @Benchmark
+    public CdcChange streamingMappingFlattened() throws IOException {
+        return parser.parse(flattened);
+    }
+}
@@ -0,0 +1,168 @@
+package com.nexus.benchmarks;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.model.Seat;
+import com.sentinel.outbox.TicketingOutbox;
+import com.sentinel.repository.SeatRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database cost of the reservation engines, including the ORM, against an in-memory H2 stand-in for PostgreSQL.
+ * <p>
+ * A trimmed Spring context runs the booking service's own JPA layer (the {@code Seat} and outbox
+ * entities, {@link SeatRepository}, {@link TicketingOutbox}) with its Hibernate batching settings;
+ * the schema is generated from the entities. Each benchmark is one transaction of a {@code BookingService} path:
+ * <ul>
+ *   <li>{@link #lockPathReadModifyWrite} - {@code executeReservationTransaction}: load the entity, flip it,
+ *       versioned UPDATE at flush, plus the outbox row (the Redisson lock around it is not part of this measurement)</li>
+ *   <li>{@link #conditionalUpdate} - {@code reserveWithConditionalUpdate}: {@code SeatRepository.claimIfAvailable}
+ *       plus the outbox row</li>
+ *   <li>{@link #groupUpdate} - {@code reserveGroupWithConditionalUpdate}: {@code SeatRepository.markReserved}
+ *       for an 8-seat group plus its outbox rows</li>
+ * </ul>
+ * All seats are released and the outbox emptied at the start of every iteration, so nearly every call is a winning claim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationTransactionBenchmark {
+
+    static final int SEATS = 200_000;
+    static final int GROUP_SIZE = 8;
+    static final long EVENT_ID = 1L;
+    static final String URL = "jdbc:h2:mem:sentinel_bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    /**
+     * Only the persistence slice of the booking service: no Redis, Kafka or web layer.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Seat.class)
+    @EnableJpaRepositories(basePackageClasses = SeatRepository.class)
+    @Import(TicketingOutbox.class)
+    static class PersistenceSlice {
+    }
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private SeatRepository seatRepository;
+    private TicketingOutbox outbox;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line properties win over the booking service's application.yml, which is on the classpath
+        context = new SpringApplicationBuilder(PersistenceSlice.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=" + URL,
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop");
+        jdbc = context.getBean(JdbcTemplate.class);
+        seatRepository = context.getBean(SeatRepository.class);
+        outbox = context.getBean(TicketingOutbox.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        jdbc.update("insert into seats (id, event_id, event_name, seat_number, price, is_reserved, version) " +
+                "select x, " + EVENT_ID + ", 'Grand Central Concert 2025', 'S-' || x, 150.00, false, 0 " +
+                "from system_range(1, " + SEATS + ")");
+        // Selectivity statistics, so H2 probes the primary key rather than the (event_id, ...) index
+        // that every seat of this single event matches
+        jdbc.execute("analyze");
+    }
+
+    @Setup(Level.Iteration)
+    public void releaseAllSeats() {
+        jdbc.update("update seats set is_reserved = false");
+        jdbc.update("delete from ticketing_outbox");
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        long cursor;
+
+        @Setup(Level.Trial)
+        public void open() {
+            cursor = Thread.currentThread().threadId() * 7919L;
+        }
+
+        long nextSeat() {
+            return (cursor++ % SEATS) + 1;
+        }
+    }
+
+    @Benchmark
+    public Boolean lockPathReadModifyWrite(Cursor c) {
+        long seatId = c.nextSeat();
+        return transactionTemplate.execute(status -> seatRepository.findByEventIdAndId(EVENT_ID, seatId)
+                .filter(seat -> !seat.isReserved())
+                .map(seat -> {
+                    seat.setReserved(true);
+                    seatRepository.save(seat);
+                    outbox.append(TicketSoldEvent.create(seatId));
+                    return true;
+                })
+                .orElse(false));
+    }
+
+    @Benchmark
+    public Boolean conditionalUpdate(Cursor c) {
+        long seatId = c.nextSeat();
+        return transactionTemplate.execute(status -> {
+            if (seatRepository.claimIfAvailable(EVENT_ID, seatId) == 1) {
+                outbox.append(TicketSoldEvent.create(seatId));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GROUP_SIZE)
+    public Integer groupUpdate(Cursor c) {
+        List<Long> seatIds = new ArrayList<>(GROUP_SIZE);
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            seatIds.add(c.nextSeat());
+        }
+        return transactionTemplate.execute(status -> {
+            int updated = seatRepository.markReserved(EVENT_ID, seatIds);
+            if (updated == seatIds.size()) {
+                outbox.appendAll(seatIds.stream().map(TicketSoldEvent::create).toList());
+            } else {
+                status.setRollbackOnly();
+            }
+            return updated;
+        });
+    }
+}
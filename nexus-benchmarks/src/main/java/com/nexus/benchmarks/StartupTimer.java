@@ -0,0 +1,94 @@
+package com.nexus.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start benchmark: time from process launch to the first successful (2xx) response.
+ * <p>
+ * Unlike "Started ... in N seconds" from the log, this includes JVM boot, class loading and the
+ * first request's lazy initialization, which is what delays new capacity during a scale-out.
+ * <pre>
+ * java -cp nexus-benchmarks/target/benchmarks.jar com.nexus.benchmarks.StartupTimer \
+ *      --url http://localhost:8080/api/v1/bookings/availability --runs 5 -- java -jar app.jar
+ * </pre>
+ */
+public final class StartupTimer {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupTimer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("usage: StartupTimer --url <url> [--runs N] -- <command...>");
+            System.exit(2);
+        }
+        URI url = null;
+        int runs = 5;
+        for (int i = 0; i < separator; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = URI.create(args[i + 1]);
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+        List<String> command = List.of(args).subList(separator + 1, args.length);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstSuccess(client, url, command);
+            System.out.printf("run %d: %d ms%n", run + 1, millis[run]);
+        }
+
+        Arrays.sort(millis);
+        System.out.printf("time-to-first-successful-request over %d runs: min %d ms | median %d ms | max %d ms%n",
+                runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+
+    private static long timeToFirstSuccess(HttpClient client, URI url, List<String> command)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - startedAt < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with code " + process.exitValue() + " before serving");
+                }
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 200 && status < 300) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    }
+                } catch (IOException notListeningYet) {
+                    // connection refused until the server is up
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("No successful response from " + url + " within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
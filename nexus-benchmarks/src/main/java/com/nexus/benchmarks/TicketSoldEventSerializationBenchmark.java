@@ -0,0 +1,59 @@
+package com.nexus.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.nexus.schema.ticketing.TicketSoldEventCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer- and consumer-side cost of one {@link TicketSoldEvent}: the Jackson encoding that
+ * Spring's {@code JsonSerializer} used to produce versus the binary {@link TicketSoldEventCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketSoldEventSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private TicketSoldEvent event;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void prepare() throws IOException {
+        event = TicketSoldEvent.create(48_213L);
+        json = objectMapper.writeValueAsBytes(event);
+        binary = TicketSoldEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return TicketSoldEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public TicketSoldEvent deserializeJson() throws IOException {
+        return objectMapper.readValue(json, TicketSoldEvent.class);
+    }
+
+    @Benchmark
+    public TicketSoldEvent deserializeBinary() {
+        return TicketSoldEventCodec.decode(binary);
+    }
+}
@@ -0,0 +1,139 @@
+package com.nexus.cdc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Pulls the operation and the projected columns out of a {@code prism-cdc.public.events} record with
+ * Jackson's streaming parser: no tree is built, and everything else ({@code schema}, {@code source},
+ * {@code metadata}) is skipped token by token without being materialised. Of {@code before} only the
+ * id is read, so that a delete still names its row.
+ * <p>
+ * Accepts the three shapes the connector can be configured to emit:
+ * <ul>
+ *   <li>{@code JsonConverter} with schemas: {@code {"schema":{...},"payload":{"op":..,"after":{...}}}}</li>
+ *   <li>schemaless envelope: {@code {"op":..,"after":{...}}}</li>
+ *   <li>flattened by {@code ExtractNewRecordState} (see {@code infrastructure/debezium-config.json}):
+ *       the row itself plus {@code __op} / {@code __deleted}</li>
+ * </ul>
+ * Shared by the search service's projector and the benchmarks, so both run the same code.
+ */
+public class CdcChangeParser {
+
+    /**
+     * The fields of one change the projector needs; {@code id} is {@code null} when the record held no row.
+     */
+    public record CdcChange(String op, boolean deleted, UUID id, String title, String category, String status) {
+
+        public boolean isDelete() {
+            return deleted || "d".equals(op);
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+
+    public CdcChangeParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public CdcChange parse(String message) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("CDC record is not a JSON object");
+            }
+            Change change = new Change();
+            readEnvelope(parser, change);
+            return change.toRecord();
+        }
+    }
+
+    private void readEnvelope(JsonParser parser, Change change) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "payload" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        readEnvelope(parser, change);
+                    }
+                }
+                case "after" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        readRow(parser, change);
+                    }
+                }
+                case "before" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        readBeforeId(parser, change);
+                    }
+                }
+                case "op", "__op" -> change.op = parser.getValueAsString();
+                case "__deleted" -> change.deleted = "true".equals(parser.getValueAsString());
+                default -> {
+                    // Flattened records carry the row's columns at the top level
+                    if (!change.readColumn(field, parser)) {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+    }
+
+    private void readRow(JsonParser parser, Change change) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (!change.readColumn(field, parser)) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readBeforeId(JsonParser parser, Change change) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                change.beforeId = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class Change {
+        private String op;
+        private boolean deleted;
+        private String id;
+        private String beforeId;
+        private String title;
+        private String category;
+        private String status;
+
+        /**
+         * @return {@code false} if the field is not a projected column and still has to be skipped.
+         */
+        private boolean readColumn(String field, JsonParser parser) throws IOException {
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "title" -> title = parser.getValueAsString();
+                case "category" -> category = parser.getValueAsString();
+                case "status" -> status = parser.getValueAsString();
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private CdcChange toRecord() {
+            String rowId = id != null ? id : beforeId;
+            return new CdcChange(op, deleted, rowId == null ? null : UUID.fromString(rowId), title, category, status);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.nexus.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CdcChangeParserTests {
+
+	private static final UUID ID = UUID.fromString("6f1c2a7e-3b4d-4e5f-8a9b-0c1d2e3f4a5b");
+
+	private final CdcChangeParser parser = new CdcChangeParser(new ObjectMapper());
+
+	@Test
+	void readsTheJsonConverterEnvelopeWithSchemas() throws IOException {
+		String message = """
+				{"schema":{"type":"struct","fields":[{"type":"struct","field":"after","fields":[{"field":"id"}]}]},
+				 "payload":{"before":null,
+				            "after":{"id":"%s","title":"Cup Final","category":"SPORTS",
+				                     "metadata":{"venue":{"city":"Lisbon"},"tags":["final"]},"status":"PUBLISHED"},
+				            "source":{"db":"prism","table":"events"},"op":"c","ts_ms":1700000000000}}
+				""".formatted(ID);
+
+		CdcChangeParser.CdcChange change = parser.parse(message);
+
+		assertThat(change.op()).isEqualTo("c");
+		assertThat(change.isDelete()).isFalse();
+		assertThat(change.id()).isEqualTo(ID);
+		assertThat(change.title()).isEqualTo("Cup Final");
+		assertThat(change.category()).isEqualTo("SPORTS");
+		assertThat(change.status()).isEqualTo("PUBLISHED");
+	}
+
+	@Test
+	void readsTheSchemalessEnvelope() throws IOException {
+		String message = """
+				{"before":{"id":"%1$s","title":"Old title"},
+				 "after":{"id":"%1$s","title":"New title","category":"MUSIC","status":"DRAFT"},"op":"u"}
+				""".formatted(ID);
+
+		CdcChangeParser.CdcChange change = parser.parse(message);
+
+		assertThat(change.op()).isEqualTo("u");
+		assertThat(change.isDelete()).isFalse();
+		assertThat(change.id()).isEqualTo(ID);
+		assertThat(change.title()).isEqualTo("New title");
+		assertThat(change.category()).isEqualTo("MUSIC");
+		assertThat(change.status()).isEqualTo("DRAFT");
+	}
+
+	@Test
+	void readsFlattenedRecords() throws IOException {
+		String update = """
+				{"id":"%s","title":"Cup Final","category":"SPORTS","metadata":"{}","status":"PUBLISHED",
+				 "__op":"u","__deleted":"false"}
+				""".formatted(ID);
+		String delete = """
+				{"id":"%s","title":"Cup Final","category":"SPORTS","status":"PUBLISHED","__op":"d","__deleted":"true"}
+				""".formatted(ID);
+
+		CdcChangeParser.CdcChange updated = parser.parse(update);
+		CdcChangeParser.CdcChange deleted = parser.parse(delete);
+
+		assertThat(updated.isDelete()).isFalse();
+		assertThat(updated.id()).isEqualTo(ID);
+		assertThat(updated.title()).isEqualTo("Cup Final");
+		assertThat(updated.status()).isEqualTo("PUBLISHED");
+		assertThat(deleted.deleted()).isTrue();
+		assertThat(deleted.isDelete()).isTrue();
+		assertThat(deleted.id()).isEqualTo(ID);
+	}
+
+	@Test
+	void takesTheIdOfADeleteFromBefore() throws IOException {
+		String message = """
+				{"payload":{"before":{"id":"%s","title":"Cup Final","metadata":{"venue":"Lisbon"}},
+				            "after":null,"op":"d"}}
+				""".formatted(ID);
+
+		CdcChangeParser.CdcChange change = parser.parse(message);
+
+		assertThat(change.isDelete()).isTrue();
+		assertThat(change.id()).isEqualTo(ID);
+		assertThat(change.title()).isNull();
+	}
+
+	@Test
+	void rejectsRecordsThatAreNotObjects() {
+		assertThatThrownBy(() -> parser.parse("[]")).isInstanceOf(IOException.class);
+	}
+}
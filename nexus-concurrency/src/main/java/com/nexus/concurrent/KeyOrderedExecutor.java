@@ -0,0 +1,55 @@
+package com.nexus.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs tasks on virtual threads, in submission order per key and concurrently across keys.
+ * <p>
+ * Each key maps to the tail of its chain of pending tasks; a new task is appended to that tail and
+ * the entry is dropped once the chain drains, so memory follows the number of keys in flight.
+ * {@code onDone} runs after the task whatever its outcome, which is what lets a Kafka listener
+ * acknowledge the record from the worker. Services declare it as a bean next to the container factory
+ * that enables out-of-order acknowledgments.
+ */
+@Slf4j
+public class KeyOrderedExecutor implements AutoCloseable {
+
+    private static final Object NO_KEY = new Object();
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public void execute(Object key, Runnable task) {
+        execute(key, task, () -> {
+        });
+    }
+
+    public void execute(Object key, Runnable task, Runnable onDone) {
+        Object chainKey = key != null ? key : NO_KEY;
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // A failed task must not break the chain of the tasks queued behind it
+                log.error("Key-ordered task failed for key {}", chainKey, e);
+            } finally {
+                onDone.run();
+            }
+        };
+
+        CompletableFuture<Void> next = tails.compute(chainKey, (k, tail) -> tail == null
+                ? CompletableFuture.runAsync(guarded, workers)
+                : tail.thenRunAsync(guarded, workers));
+        next.whenComplete((ignored, error) -> tails.remove(chainKey, next));
+    }
+
+    @Override
+    public void close() {
+        workers.close();
+    }
+}
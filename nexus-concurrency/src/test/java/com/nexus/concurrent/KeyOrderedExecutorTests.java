@@ -0,0 +1,130 @@
+package com.nexus.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTests {
+
+	private final KeyOrderedExecutor executor = new KeyOrderedExecutor();
+
+	@AfterEach
+	void close() {
+		executor.close();
+	}
+
+	@Test
+	void runsTasksOfOneKeyInSubmissionOrder() throws InterruptedException {
+		List<Integer> ran = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(200);
+
+		for (int i = 0; i < 200; i++) {
+			int task = i;
+			executor.execute("seat-1", () -> {
+				pause(ThreadLocalRandom.current().nextInt(3));
+				ran.add(task);
+			}, done::countDown);
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(ran).isSorted().hasSize(200);
+	}
+
+	@Test
+	void runsTasksOfDifferentKeysConcurrently() throws InterruptedException {
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		List<Boolean> sawSecond = new CopyOnWriteArrayList<>();
+
+		// The first task only finishes if the second one, submitted after it, runs meanwhile
+		executor.execute("seat-1", () -> sawSecond.add(await(secondStarted)), done::countDown);
+		executor.execute("seat-2", secondStarted::countDown, done::countDown);
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(sawSecond).containsExactly(true);
+	}
+
+	@Test
+	void completesATaskOnlyAfterItsPredecessorsFinished() throws InterruptedException {
+		CountDownLatch gate = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(3);
+		List<String> acknowledged = new CopyOnWriteArrayList<>();
+
+		executor.execute("seat-1", () -> await(gate), () -> {
+			acknowledged.add("first");
+			done.countDown();
+		});
+		executor.execute("seat-1", () -> {
+		}, () -> {
+			acknowledged.add("second");
+			done.countDown();
+		});
+		executor.execute("seat-2", () -> {
+		}, () -> {
+			acknowledged.add("other key");
+			done.countDown();
+		});
+
+		pause(200);
+		assertThat(acknowledged).containsExactly("other key");
+
+		gate.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(acknowledged).containsExactly("other key", "first", "second");
+	}
+
+	@Test
+	void keepsTheChainGoingAfterAFailedTask() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(2);
+		List<String> ran = new CopyOnWriteArrayList<>();
+
+		executor.execute("seat-1", () -> {
+			throw new IllegalStateException("boom");
+		}, done::countDown);
+		executor.execute("seat-1", () -> ran.add("second"), done::countDown);
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(ran).containsExactly("second");
+	}
+
+	@Test
+	void ordersTasksWithoutAKeyAmongThemselves() throws InterruptedException {
+		List<Integer> ran = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(50);
+
+		for (int i = 0; i < 50; i++) {
+			int task = i;
+			executor.execute(null, () -> {
+				pause(ThreadLocalRandom.current().nextInt(3));
+				ran.add(task);
+			}, done::countDown);
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(ran).isSorted().hasSize(50);
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void pause(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -1,4 +1,4 @@
-package com.sentinel.dto;
+package com.nexus.schema.ticketing;
 
 import java.io.Serializable;
 import java.time.Instant;
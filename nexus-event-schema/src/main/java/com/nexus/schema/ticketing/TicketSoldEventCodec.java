@@ -0,0 +1,77 @@
+package com.nexus.schema.ticketing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Versioned, fixed-layout binary encoding of {@link TicketSoldEvent}.
+ * <p>
+ * Layout (big-endian), 35 bytes plus the status text:
+ * <pre>
+ *   0  magic        1 byte   (0xB7, never a valid first byte of a JSON document)
+ *   1  version      1 byte
+ *   2  eventId     16 bytes  (most / least significant bits)
+ *  18  seatId       8 bytes
+ *  26  timestamp    8 bytes  (epoch millis, UTC)
+ *  34  statusLen    1 byte
+ *  35  status       statusLen bytes (UTF-8)
+ * </pre>
+ * Readers must reject unknown versions instead of guessing at the layout.
+ */
+public final class TicketSoldEventCodec {
+
+    public static final byte MAGIC = (byte) 0xB7;
+    public static final byte VERSION_1 = 1;
+
+    private static final int FIXED_SIZE = 35;
+
+    private TicketSoldEventCodec() {
+    }
+
+    public static byte[] encode(TicketSoldEvent event) {
+        byte[] status = event.status().getBytes(StandardCharsets.UTF_8);
+        if (status.length > 255) {
+            throw new IllegalArgumentException("Status too long for binary encoding: " + event.status());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + status.length);
+        buffer.put(MAGIC)
+                .put(VERSION_1)
+                .putLong(event.eventId().getMostSignificantBits())
+                .putLong(event.eventId().getLeastSignificantBits())
+                .putLong(event.seatId())
+                .putLong(event.timestamp().toEpochMilli())
+                .put((byte) status.length)
+                .put(status);
+        return buffer.array();
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static TicketSoldEvent decode(byte[] data) {
+        if (data.length < FIXED_SIZE || data[0] != MAGIC) {
+            throw new IllegalArgumentException("Not a binary TicketSoldEvent (" + data.length + " bytes)");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+
+        byte version = buffer.get();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported TicketSoldEvent wire version: " + version);
+        }
+
+        UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+        long seatId = buffer.getLong();
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        int statusLength = Byte.toUnsignedInt(buffer.get());
+        if (buffer.remaining() < statusLength) {
+            throw new IllegalArgumentException("Truncated TicketSoldEvent status field");
+        }
+        String status = new String(data, buffer.position(), statusLength, StandardCharsets.UTF_8);
+
+        return new TicketSoldEvent(eventId, seatId, status, timestamp);
+    }
+}
@@ -0,0 +1,35 @@
+package com.nexus.schema.ticketing;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer for {@link TicketSoldEvent}.
+ * <p>
+ * The first byte tells the formats apart: binary records start with {@link TicketSoldEventCodec#MAGIC},
+ * anything else is parsed as legacy JSON, so topics holding both formats are read transparently.
+ */
+public class TicketSoldEventDeserializer implements Deserializer<TicketSoldEvent> {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Override
+    public TicketSoldEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (TicketSoldEventCodec.isBinary(data)) {
+                return TicketSoldEventCodec.decode(data);
+            }
+            return objectMapper.readValue(data, TicketSoldEvent.class);
+        } catch (Exception e) {
+            throw new SerializationException("Malformed TicketSoldEvent on topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nexus.schema.ticketing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value serializer for {@link TicketSoldEvent}.
+ * <p>
+ * Writes the compact binary layout of {@link TicketSoldEventCodec} by default. Setting
+ * {@value #FORMAT_CONFIG}={@code json} keeps emitting JSON, e.g. while consumers that predate
+ * the binary format are still being rolled out.
+ */
+public class TicketSoldEventSerializer implements Serializer<TicketSoldEvent> {
+
+    public static final String FORMAT_CONFIG = "nexus.ticketing.format";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private boolean json;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json = "json".equalsIgnoreCase(String.valueOf(configs.get(FORMAT_CONFIG)));
+    }
+
+    @Override
+    public byte[] serialize(String topic, TicketSoldEvent event) {
+        if (event == null) {
+            return null;
+        }
+        if (!json) {
+            return TicketSoldEventCodec.encode(event);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("Failed to serialize TicketSoldEvent as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexus.schema.ticketing;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketSoldEventCodecTests {
+
+	private final TicketSoldEvent event = new TicketSoldEvent(
+			UUID.randomUUID(), 42L, "RESERVED", Instant.ofEpochMilli(1_760_000_000_123L));
+
+	@Test
+	void binaryRoundTrip() {
+		byte[] encoded = new TicketSoldEventSerializer().serialize("t", event);
+
+		assertThat(encoded).hasSize(35 + "RESERVED".length());
+		assertThat(new TicketSoldEventDeserializer().deserialize("t", encoded)).isEqualTo(event);
+	}
+
+	@Test
+	void legacyJsonIsStillReadable() {
+		String json = """
+				{"eventId":"%s","seatId":42,"status":"RESERVED","timestamp":"2025-10-09T08:53:20.123Z"}
+				""".formatted(event.eventId());
+
+		TicketSoldEvent decoded = new TicketSoldEventDeserializer()
+				.deserialize("t", json.getBytes(StandardCharsets.UTF_8));
+
+		assertThat(decoded).isEqualTo(event);
+	}
+
+	@Test
+	void unknownVersionIsRejected() {
+		byte[] encoded = TicketSoldEventCodec.encode(event);
+		encoded[1] = 99;
+
+		assertThatThrownBy(() -> TicketSoldEventCodec.decode(encoded))
+				.hasMessageContaining("Unsupported TicketSoldEvent wire version");
+	}
+}
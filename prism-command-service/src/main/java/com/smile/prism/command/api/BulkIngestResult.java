@@ -0,0 +1,32 @@
+package com.smile.prism.command.api;
+
+import java.util.List;
+
+/**
+ * Outcome of an NDJSON bulk ingest.
+ * <p>
+ * Every non-blank line is either created or listed in {@code errors} with its line number,
+ * so a client can resubmit exactly the lines that failed.
+ *
+ * @param linesRead       Non-blank lines consumed from the request body.
+ * @param created         Events persisted.
+ * @param rejected        Lines that were not persisted.
+ * @param errors          Line-level failures, in input order, capped at {@code prism.bulk.max-reported-errors}.
+ * @param errorsTruncated Whether more lines were rejected than {@code errors} lists.
+ * @param elapsedMillis   Wall-clock time of the ingest.
+ */
+public record BulkIngestResult(
+        long linesRead,
+        long created,
+        long rejected,
+        List<LineError> errors,
+        boolean errorsTruncated,
+        long elapsedMillis
+) {
+
+    /**
+     * @param line    1-based line number in the request body.
+     * @param message Why the line was rejected.
+     */
+    public record LineError(long line, String message) {}
+}
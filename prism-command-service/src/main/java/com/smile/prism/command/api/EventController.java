@@ -1,11 +1,15 @@
 package com.smile.prism.command.api;
 
 import com.smile.prism.command.domain.Event;
+import com.smile.prism.command.service.BulkEventIngestService;
 import com.smile.prism.command.service.EventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Entry point for the Command side of the Prism engine.
  */
@@ -15,10 +19,20 @@ import org.springframework.web.bind.annotation.*;
 public class EventController {
 
     private final EventService eventService;
+    private final BulkEventIngestService bulkIngestService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Event create(@RequestBody EventRequest request) {
         return eventService.createEvent(request);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bulk variant of {@link #create}: one {@link EventRequest} per line of an NDJSON body,
+     * streamed into Postgres in chunked transactions. Rejected lines are reported by line number.
+     */
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public BulkIngestResult createBulk(InputStream body) throws IOException {
+        return bulkIngestService.ingest(body);
+    }
+}
@@ -0,0 +1,22 @@
+package com.smile.prism.command.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Lifecycle of the month partitions of the {@code events} table.
+ *
+ * @param enabled         Whether this node runs the partition maintenance job.
+ * @param premakeMonths   Months after the current one whose partitions are created in advance.
+ * @param retentionMonths Complete months kept attached before the current one; older ones are retired.
+ * @param archiveDir      Where retired partitions are written as gzipped NDJSON before being dropped.
+ */
+@ConfigurationProperties(prefix = "prism.events.partitions")
+public record EventPartitionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int premakeMonths,
+        @DefaultValue("12") int retentionMonths,
+        @DefaultValue("archive/events") Path archiveDir
+) {}
@@ -0,0 +1,92 @@
+package com.smile.prism.command.config;
+
+import com.nexus.concurrent.KeyOrderedExecutor;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.nexus.schema.ticketing.TicketSoldEventSerializer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    public static final String TICKETING_TOPIC = "sentinel.public.ticketing";
+    public static final String TICKETING_DEAD_LETTER_TOPIC = TICKETING_TOPIC + ".DLT";
+    public static final String KEY_ORDERED_CONTAINER_FACTORY = "keyOrderedContainerFactory";
+
+    /**
+     * Containers for listeners that hand records to worker threads and acknowledge them from there.
+     * With async acks the container commits a partition's offsets only up to the first record not yet
+     * acknowledged, and pauses fetching until a poll's records are all acknowledged, so in-flight work
+     * is bounded by {@code max-poll-records} and a crash only ever re-delivers unfinished records.
+     */
+    @Bean(KEY_ORDERED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> keyOrderedContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Workers of the listeners using {@link #KEY_ORDERED_CONTAINER_FACTORY}; closed with the context.
+     */
+    @Bean
+    public KeyOrderedExecutor keyOrderedExecutor() {
+        return new KeyOrderedExecutor();
+    }
+
+    /**
+     * Parking topic for ticketing records the ingestor cannot persist (malformed payloads,
+     * rows rejected by the database). Records keep their key and original headers.
+     */
+    @Bean
+    public NewTopic ticketingDeadLetterTopic() {
+        return TopicBuilder.name(TICKETING_DEAD_LETTER_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Publishes failed ticketing records to {@link #TICKETING_DEAD_LETTER_TOPIC}.
+     * Records that failed deserialization are forwarded as their original bytes, decoded ones are
+     * re-encoded with the shared event serializer.
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer ticketingDeadLetterRecoverer(KafkaProperties kafkaProperties,
+                                                                      SslBundles sslBundles) {
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(TicketSoldEvent.class, new TicketSoldEventSerializer());
+
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(
+                kafkaProperties.buildProducerProperties(sslBundles),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(valueSerializers));
+
+        return new DeadLetterPublishingRecoverer(new KafkaTemplate<>(producerFactory),
+                (record, exception) -> new TopicPartition(TICKETING_DEAD_LETTER_TOPIC, -1));
+    }
+}
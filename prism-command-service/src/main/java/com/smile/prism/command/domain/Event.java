@@ -8,15 +8,28 @@ import org.hibernate.type.SqlTypes;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Prism's generic write-model record.
+ * <p>
+ * Stored in a table range-partitioned by {@code created_at} (see {@code infrastructure/prism/init}),
+ * which is why the auditing columns of {@link BaseEntity} are mandatory here.
+ */
 @Entity
 @Table(name = "events")
 @Getter @Setter @Builder
 @NoArgsConstructor @AllArgsConstructor
-public class Event {
+public class Event extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    /**
+     * Id of the upstream event this row was ingested from; {@code null} for events created through the API.
+     * Uniqueness is enforced through {@link IngestedEvent}, as the partitioned table cannot.
+     */
+    @Column(name = "source_event_id")
+    private UUID sourceEventId;
+
     private String title;
     private String category;
 
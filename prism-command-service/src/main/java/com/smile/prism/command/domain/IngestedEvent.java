@@ -0,0 +1,52 @@
+package com.smile.prism.command.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Idempotency key of an ingested upstream event.
+ * <p>
+ * Written in the same transaction as its {@link Event}: the primary key makes a second INSERT of the
+ * same source event fail, which rolls the duplicate {@link Event} back with it.
+ */
+@Entity
+@Table(name = "ingested_events")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IngestedEvent implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "source_event_id")
+    private UUID sourceEventId;
+
+    @Column(name = "ingested_at", nullable = false)
+    private Instant ingestedAt;
+
+    public IngestedEvent(UUID sourceEventId) {
+        this.sourceEventId = sourceEventId;
+        this.ingestedAt = Instant.now();
+    }
+
+    @Override
+    public UUID getId() {
+        return sourceEventId;
+    }
+
+    /**
+     * Always new: keys are only ever inserted, so {@code save} must persist without the
+     * SELECT that a merge of an assigned id would cost.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
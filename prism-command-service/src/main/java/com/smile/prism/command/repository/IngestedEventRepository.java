@@ -0,0 +1,24 @@
+package com.smile.prism.command.repository;
+
+import com.smile.prism.command.domain.IngestedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface IngestedEventRepository extends JpaRepository<IngestedEvent, UUID> {
+
+    /**
+     * Forgets keys older than the retained event history; their events have been archived anyway.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IngestedEvent e where e.ingestedAt < :cutoff")
+    int deleteIngestedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,221 @@
+package com.smile.prism.command.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.smile.prism.command.api.BulkIngestResult;
+import com.smile.prism.command.api.EventRequest;
+import com.smile.prism.command.domain.Event;
+import com.smile.prism.command.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk command path for partner backfills: one HTTP request carries any number of events as NDJSON.
+ * <p>
+ * The body is consumed line by line and each line is bound by Jackson on its own, so heap use is
+ * bounded by one chunk whatever the payload size, and a malformed line is reported without
+ * affecting its neighbours. Valid events are written in chunks of {@code prism.bulk.chunk-size},
+ * one transaction per chunk; the chunk size defaults to {@code hibernate.jdbc.batch_size}, so that a chunk
+ * is flushed as one JDBC batch (a larger chunk is split into several). The next chunk is only read once the
+ * previous one has committed, so a client can never push data faster than Postgres absorbs it:
+ * the unread body backs up into the TCP window. Lines are capped at {@code prism.bulk.max-line-length}
+ * characters: the rest of a longer line is skipped as it is read and the line is reported as rejected.
+ */
+@Slf4j
+@Service
+public class BulkEventIngestService {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader eventReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+
+    public BulkEventIngestService(EventRepository eventRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${prism.bulk.chunk-size:${spring.jpa.properties.hibernate.jdbc.batch_size:500}}") int chunkSize,
+                                  @Value("${prism.bulk.max-reported-errors:1000}") int maxReportedErrors,
+                                  @Value("${prism.bulk.max-line-length:65536}") int maxLineLength) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventReader = objectMapper.readerFor(EventRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Persists every valid line of the NDJSON body as a {@code RECEIVED} event.
+     *
+     * @param ndjson The request body, consumed once.
+     */
+    public BulkIngestResult ingest(InputStream ndjson) throws IOException {
+        long startedAt = System.nanoTime();
+        Progress progress = new Progress();
+        List<Event> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8), maxLineLength);
+        long lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (reader.overflowed()) {
+                progress.linesRead++;
+                progress.reject(lineNumber, "Line longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.linesRead++;
+            try {
+                chunk.add(toEvent(eventReader.readValue(line)));
+                chunkLines.add(lineNumber);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                progress.reject(lineNumber, e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                flush(chunk, chunkLines, progress);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, chunkLines, progress);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Bulk ingest finished: {} lines, {} created, {} rejected in {} ms",
+                progress.linesRead, progress.created, progress.rejected, elapsedMillis);
+        return new BulkIngestResult(progress.linesRead, progress.created, progress.rejected,
+                progress.errors, progress.rejected > progress.errors.size(), elapsedMillis);
+    }
+
+    private void flush(List<Event> chunk, List<Long> chunkLines, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventRepository.saveAll(chunk));
+            progress.created += chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Bulk chunk of {} events failed from line {}", chunk.size(), chunkLines.getFirst(), e);
+            String message = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            chunkLines.forEach(line -> progress.reject(line, message));
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private Event toEvent(EventRequest request) {
+        if (request == null || request.title() == null || request.title().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        return Event.builder()
+                .title(request.title())
+                .category(request.category())
+                .metadata(request.metadata())
+                .status(Event.EventStatus.RECEIVED)
+                .build();
+    }
+
+    /**
+     * Splits the body on {@code \n} (dropping a trailing {@code \r}) like {@link java.io.BufferedReader#readLine},
+     * but never holds more than {@code maxLength} characters of a line.
+     */
+    static final class BoundedLineReader {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean overflowed;
+
+        BoundedLineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return The next line without its terminator ({@code ""} if it {@link #overflowed()}),
+         * or {@code null} at the end of the input.
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            overflowed = false;
+            boolean started = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return started ? endLine() : null;
+                    }
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return endLine();
+                }
+            }
+        }
+
+        /**
+         * Whether the line last returned by {@link #readLine()} was longer than the limit.
+         */
+        boolean overflowed() {
+            return overflowed;
+        }
+
+        private void append(int from, int to) {
+            // One character of slack for the \r of a CRLF terminator
+            int room = maxLength + 1 - line.length();
+            if (overflowed || to - from > room) {
+                overflowed = true;
+                return;
+            }
+            line.append(buffer, from, to - from);
+        }
+
+        private String endLine() {
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            if (overflowed || line.length() > maxLength) {
+                overflowed = true;
+                return "";
+            }
+            return line.toString();
+        }
+    }
+
+    private final class Progress {
+        private long linesRead;
+        private long created;
+        private long rejected;
+        private final List<BulkIngestResult.LineError> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BulkIngestResult.LineError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.smile.prism.command.service;
+
+import com.smile.prism.command.config.EventPartitionProperties;
+import com.smile.prism.command.repository.IngestedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the month partitions of {@code events} rolling: upcoming months are created ahead of the
+ * writes that need them, and months past retention are detached, archived and dropped.
+ * <p>
+ * Retiring a month is three separate steps so that no lock on {@code events} outlives the DETACH:
+ * the archive is then streamed from the detached table as gzipped NDJSON (one {@code row_to_json}
+ * per line), renamed into place once complete, and only then is the table dropped. A run interrupted
+ * after the DETACH is finished by the next one. Creation is idempotent; a node that loses a DETACH
+ * race to another one fails that step and finds nothing left to do on the next cycle. Every month is
+ * created and retired as a step of its own, so one failing month is logged and retried next cycle
+ * without holding up the others.
+ * <p>
+ * There is no DEFAULT partition: creating a month would scan it under lock, and fail outright once it
+ * holds rows of that month. One left behind by an older schema is emptied into month partitions and
+ * dropped, in one transaction.
+ * <p>
+ * Does nothing against a database where {@code events} is not partitioned (e.g. a schema created
+ * by Hibernate's ddl-auto rather than {@code infrastructure/prism/init}).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "prism.events.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EventPartitionMaintenance {
+
+    private static final String PARTITION_PREFIX = "events_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile("events_p(\\d{6})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int ARCHIVE_FETCH_SIZE = 1000;
+
+    private static final String IS_PARTITIONED = "select count(*) from pg_partitioned_table pt " +
+            "join pg_class c on c.oid = pt.partrelid where c.relname = 'events'";
+    private static final String ATTACHED_PARTITIONS = "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent where p.relname = 'events'";
+    private static final String DETACHED_PARTITIONS = "select relname from pg_class " +
+            "where relkind = 'r' and not relispartition and relname ~ '^events_p[0-9]{6}$'";
+    private static final String DEFAULT_PARTITION = "events_default";
+    private static final String HAS_DEFAULT_PARTITION = "select count(*) from pg_class where relname = '" + DEFAULT_PARTITION + "'";
+    private static final String DEFAULT_PARTITION_MONTHS = "select distinct to_char(created_at at time zone 'UTC', 'YYYYMM') from " +
+            DEFAULT_PARTITION;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestedEventRepository ingestedEventRepository;
+    private final EventPartitionProperties properties;
+
+    public EventPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     IngestedEventRepository ingestedEventRepository,
+                                     EventPartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ingestedEventRepository = ingestedEventRepository;
+        this.properties = properties;
+    }
+
+    @Scheduled(initialDelayString = "${prism.events.partitions.initial-delay:30s}",
+            fixedDelayString = "${prism.events.partitions.interval:6h}")
+    public void maintain() {
+        try {
+            if (jdbcTemplate.queryForObject(IS_PARTITIONED, Integer.class) == 0) {
+                log.debug("Table events is not partitioned, skipping partition maintenance");
+                return;
+            }
+            YearMonth current = YearMonth.now(ZoneOffset.UTC);
+            attempt("drop " + DEFAULT_PARTITION, this::dropDefaultPartition);
+            createUpcoming(current);
+            retireBefore(current.minusMonths(properties.retentionMonths()));
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance failed, retrying next cycle", e);
+        }
+    }
+
+    private void createUpcoming(YearMonth current) {
+        for (int ahead = 0; ahead <= properties.premakeMonths(); ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            attempt("create " + partitionOf(month), () -> createPartition(month));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("create table if not exists " + partitionOf(month) +
+                " partition of events for values from ('" + month.atDay(1) + " 00:00:00+00')" +
+                " to ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+    }
+
+    /**
+     * Detaches the DEFAULT partition, creates the months its rows belong to, routes the rows into them
+     * through the parent table and drops it. A failure rolls all of it back.
+     */
+    private void dropDefaultPartition() {
+        if (jdbcTemplate.queryForObject(HAS_DEFAULT_PARTITION, Integer.class) == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("alter table events detach partition " + DEFAULT_PARTITION);
+            jdbcTemplate.queryForList(DEFAULT_PARTITION_MONTHS, String.class)
+                    .forEach(month -> createPartition(YearMonth.parse(month, MONTH_SUFFIX)));
+            int moved = jdbcTemplate.update("insert into events select * from " + DEFAULT_PARTITION);
+            jdbcTemplate.execute("drop table " + DEFAULT_PARTITION);
+            log.info("Dropped partition {} after moving {} rows into month partitions", DEFAULT_PARTITION, moved);
+        });
+    }
+
+    private void retireBefore(YearMonth cutoff) {
+        for (String partition : jdbcTemplate.queryForList(ATTACHED_PARTITIONS, String.class)) {
+            if (isBefore(partition, cutoff)) {
+                attempt("detach " + partition, () -> {
+                    jdbcTemplate.execute("alter table events detach partition " + partition);
+                    log.info("Detached partition {} (retention {} months)", partition, properties.retentionMonths());
+                });
+            }
+        }
+        // Includes tables detached by a run that failed before dropping them
+        for (String partition : jdbcTemplate.queryForList(DETACHED_PARTITIONS, String.class)) {
+            attempt("archive " + partition, () -> {
+                Path archive = archive(partition);
+                jdbcTemplate.execute("drop table if exists " + partition);
+                log.info("Archived partition {} to {} and dropped it", partition, archive);
+            });
+        }
+        attempt("prune idempotency keys", () -> {
+            int forgotten = ingestedEventRepository.deleteIngestedBefore(
+                    cutoff.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+            if (forgotten > 0) {
+                log.info("Removed {} idempotency keys older than {}", forgotten, cutoff);
+            }
+        });
+    }
+
+    /**
+     * Runs one step of a cycle on its own: a failure is logged and the step retried on the next cycle.
+     */
+    private void attempt(String step, Runnable action) {
+        try {
+            action.run();
+        } catch (DataAccessException | IllegalStateException e) {
+            log.error("Partition maintenance step '{}' failed, retrying next cycle", step, e);
+        }
+    }
+
+    /**
+     * Streams the detached table through a server-side cursor into {@code <partition>.ndjson.gz};
+     * the file only appears under its final name once fully written.
+     */
+    private Path archive(String partition) {
+        try {
+            Files.createDirectories(properties.archiveDir());
+            Path target = properties.archiveDir().resolve(partition + ".ndjson.gz");
+            Path partial = properties.archiveDir().resolve(partition + ".ndjson.gz.part");
+
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(partial)), StandardCharsets.UTF_8))) {
+                // The PostgreSQL driver only honours the fetch size inside a transaction
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "select row_to_json(t)::text from " + partition + " t");
+                    statement.setFetchSize(ARCHIVE_FETCH_SIZE);
+                    return statement;
+                }, row -> {
+                    try {
+                        out.write(row.getString(1));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            return Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Could not archive partition " + partition, e);
+        }
+    }
+
+    private static boolean isBefore(String partition, YearMonth cutoff) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        return matcher.matches() && YearMonth.parse(matcher.group(1), MONTH_SUFFIX).isBefore(cutoff);
+    }
+
+    private static String partitionOf(YearMonth month) {
+        return PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+    }
+}
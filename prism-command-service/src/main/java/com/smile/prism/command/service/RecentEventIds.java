@@ -0,0 +1,43 @@
+package com.smile.prism.command.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded window of the source event ids this node has recently persisted.
+ * <p>
+ * Ids are added only after their INSERT committed, so a hit is a certain duplicate and can be dropped
+ * without touching the database. The window forgets the oldest ids first; anything it cannot answer
+ * (evicted ids, ids ingested by another consumer before a rebalance) falls through to the primary
+ * key of {@code ingested_events}.
+ */
+@Component
+public class RecentEventIds {
+
+    private final Set<UUID> window;
+
+    public RecentEventIds(@Value("${prism.ingest.dedupe-window:100000}") int capacity) {
+        this.window = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                return size() > capacity;
+            }
+        }));
+    }
+
+    public boolean contains(UUID eventId) {
+        return eventId != null && window.contains(eventId);
+    }
+
+    public void remember(UUID eventId) {
+        if (eventId != null) {
+            window.add(eventId);
+        }
+    }
+}
@@ -1,71 +1,305 @@
 package com.smile.prism.command.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.concurrent.KeyOrderedExecutor;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.smile.prism.command.config.KafkaConfig;
 import com.smile.prism.command.domain.Event;
+import com.smile.prism.command.domain.IngestedEvent;
 import com.smile.prism.command.repository.EventRepository;
+import com.smile.prism.command.repository.IngestedEventRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.backoff.BackOffExecution;
+import org.springframework.util.backoff.ExponentialBackOff;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * The Bridge Consumer.
  * Listens to High-Velocity Sentinel Signals and persists them into the Prism Write-Model.
+ * <p>
+ * The listener is chosen with {@code prism.ingest.mode}:
+ * <ul>
+ *   <li>{@code batch} (default): one poll is mapped and written with a single JDBC-batched INSERT in one transaction.</li>
+ *   <li>{@code record}: one transaction per signal on the partition's listener thread.</li>
+ *   <li>{@code key-ordered}: signals of one partition fan out to virtual threads, ordered per seat (the record key).</li>
+ * </ul>
+ * <p>
+ * Ingestion is idempotent on {@link TicketSoldEvent#eventId()}. Redeliveries seen recently are dropped
+ * in memory by {@link RecentEventIds}; older ones are stopped by the primary key of the
+ * {@link IngestedEvent} written alongside each event, and only an INSERT that hit it pays for a lookup.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SentinelIngestor {
 
+    private static final String INGEST_GROUP = "prism-ingest-group";
+    private static final LogAccessor DESERIALIZATION_LOG = new LogAccessor(SentinelIngestor.class);
+    // No attempt limit: a transient failure is retried until it clears or the service stops
+    private static final ExponentialBackOff TRANSIENT_FAILURE_BACK_OFF = new ExponentialBackOff(100, 2);
+
+    static {
+        TRANSIENT_FAILURE_BACK_OFF.setMaxInterval(5_000);
+    }
+
     private final EventRepository eventRepository;
-    private final ObjectMapper objectMapper;
+    private final IngestedEventRepository ingestedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DeadLetterPublishingRecoverer deadLetters;
+    private final RecentEventIds recentEventIds;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+
+    private volatile boolean stopping;
 
     /**
      * Consumes the 'sentinel.public.ticketing' topic.
-     * We use String payload + Manual JSON parsing to decouple Prism from Sentinel's internal DTOs.
+     * Payloads are decoded by the shared nexus-event-schema codec (binary, with JSON fallback),
+     * so Prism depends on the published event contract rather than on Sentinel's internals.
+     * Malformed records never reach this method: the ErrorHandlingDeserializer reports and skips them.
      */
-    @Transactional
-    @KafkaListener(topics = "sentinel.public.ticketing", groupId = "prism-ingest-group")
-    public void ingestSentinelSignal(@Payload String message,
+    @KafkaListener(topics = KafkaConfig.TICKETING_TOPIC, groupId = INGEST_GROUP,
+            autoStartup = "#{'${prism.ingest.mode:batch}' == 'record'}")
+    public void ingestSentinelSignal(@Payload TicketSoldEvent signal,
                                      @Header(KafkaHeaders.RECEIVED_KEY) String seatId) {
+        log.info("⚡ [Prism] Signal Received for Seat: {}", seatId);
+
+        if (recentEventIds.contains(signal.eventId())) {
+            log.debug("Dropping redelivered signal {}", signal.eventId());
+            return;
+        }
+        Event prismEvent = toPrismEvent(seatId, signal);
+
+        // Persist to Postgres (Triggering Debezium -> Elasticsearch)
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(prismEvent)));
+        } catch (DataIntegrityViolationException e) {
+            if (!alreadyIngested(signal)) {
+                throw e;
+            }
+            log.debug("Dropping redelivered signal {}", signal.eventId());
+            return;
+        }
+        recentEventIds.remember(signal.eventId());
+
+        log.info("💾 [Prism] Signal persisted. Event ID: {}", prismEvent.getId());
+    }
+
+    /**
+     * Parallel variant of {@link #ingestSentinelSignal}: the listener thread only dispatches, and signals
+     * for the same seat are persisted one after another while different seats proceed concurrently.
+     * Each record is acknowledged once its worker is done; the container commits up to the lowest
+     * unfinished offset.
+     * <p>
+     * Only poison signals are dead-lettered: integrity violations other than a redelivery, and failures
+     * outside the data access layer (e.g. mapping). Transient database failures are retried in place with
+     * exponential backoff, which holds back the seat's later signals and, once a poll's records are all
+     * in flight, further fetching, instead of skipping a signal that would have succeeded. A signal still
+     * retrying at shutdown is left unacknowledged and re-delivered after the restart.
+     */
+    @KafkaListener(topics = KafkaConfig.TICKETING_TOPIC, groupId = INGEST_GROUP,
+            containerFactory = KafkaConfig.KEY_ORDERED_CONTAINER_FACTORY,
+            autoStartup = "#{'${prism.ingest.mode:batch}' == 'key-ordered'}")
+    public void ingestSentinelSignalKeyOrdered(ConsumerRecord<String, TicketSoldEvent> record, Acknowledgment ack) {
+        keyOrderedExecutor.execute(record.key(), () -> {
+            if (ingestRetryingTransientFailures(record)) {
+                ack.acknowledge();
+            }
+        });
+    }
+
+    @PreDestroy
+    void stopRetrying() {
+        stopping = true;
+    }
+
+    /**
+     * @return {@code true} once the record is handled (persisted, a duplicate or dead-lettered),
+     * {@code false} if the service stopped while a transient failure was being retried.
+     */
+    private boolean ingestRetryingTransientFailures(ConsumerRecord<String, TicketSoldEvent> record) {
+        if (record.value() == null) {
+            rejectMalformed(record);
+            return true;
+        }
+        BackOffExecution backOff = TRANSIENT_FAILURE_BACK_OFF.start();
+        while (true) {
+            try {
+                ingestSentinelSignal(record.value(), record.key());
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(record, e);
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                long delay = backOff.nextBackOff();
+                log.warn("⚠️ [Prism] Signal at {}-{}@{} failed transiently, retrying in {} ms: {}",
+                        record.topic(), record.partition(), record.offset(), delay, e.getMessage());
+                if (stopping || !sleep(delay)) {
+                    log.info("Leaving signal at {}-{}@{} unacknowledged for re-delivery",
+                            record.topic(), record.partition(), record.offset());
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                deadLetter(record, e);
+                return true;
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Batch variant of {@link #ingestSentinelSignal}: a whole poll is persisted with one {@code saveAll},
+     * which Hibernate flushes as batched INSERTs ({@code hibernate.jdbc.batch_size}) at commit.
+     * <p>
+     * Errors are isolated per record. Malformed payloads (flagged by the ErrorHandlingDeserializer) and
+     * signals that cannot be mapped go to the dead-letter topic and the rest of the batch proceeds. If
+     * the database rejects the batch for a data reason, the records are retried one per transaction
+     * and only the rejected ones are dead-lettered. Any other failure (e.g. the database being down)
+     * propagates, so the container re-delivers the batch.
+     */
+    @KafkaListener(topics = KafkaConfig.TICKETING_TOPIC, groupId = INGEST_GROUP, batch = "true",
+            autoStartup = "#{'${prism.ingest.mode:batch}' == 'batch'}")
+    public void ingestSentinelSignals(List<ConsumerRecord<String, TicketSoldEvent>> records) {
+        List<ConsumerRecord<String, TicketSoldEvent>> accepted = new ArrayList<>(records.size());
+        List<Event> events = new ArrayList<>(records.size());
+        Set<UUID> batchIds = new HashSet<>();
+        int duplicates = 0;
+
+        for (ConsumerRecord<String, TicketSoldEvent> record : records) {
+            if (record.value() == null) {
+                rejectMalformed(record);
+                continue;
+            }
+            UUID eventId = record.value().eventId();
+            if (recentEventIds.contains(eventId) || (eventId != null && !batchIds.add(eventId))) {
+                duplicates++;
+                continue;
+            }
+            try {
+                events.add(toPrismEvent(record.key(), record.value()));
+                accepted.add(record);
+            } catch (RuntimeException e) {
+                deadLetter(record, e);
+            }
+        }
+
+        if (events.isEmpty()) {
+            log.debug("Batch of {} signals held no new events ({} duplicates)", records.size(), duplicates);
+            return;
+        }
         try {
-            log.info("⚡ [Prism] Signal Received for Seat: {}", seatId);
-
-            // 1. Parse the Raw JSON
-            JsonNode root = objectMapper.readTree(message);
-            String status = root.path("status").asText("UNKNOWN");
-            String timestamp = root.path("timestamp").asText();
-
-            // 2. Map to Prism's Generic Domain Entity
-            // We turn a specific "Ticket Sold" into a generic "Discovery Event"
-            Event prismEvent = Event.builder()
-                    .title("Seat Reservation: " + seatId)
-                    .category("TICKETING")
-                    .status(Event.EventStatus.RECEIVED)
-                    .metadata(Map.of(
-                            "source", "SENTINEL",
-                            "external_status", status,
-                            "seat_id", seatId,
-                            "occurred_at", timestamp
-                    ))
-                    .build();
-
-            // 3. Persist to Postgres (Triggering Debezium -> Elasticsearch)
-            eventRepository.save(prismEvent);
-
-            log.info("💾 [Prism] Signal persisted. Event ID: {}", prismEvent.getId());
-
-        } catch (JsonProcessingException e) {
-            log.error("❌ [Prism] Malformed Payload: {}", message, e);
-            // In Production: Send to Dead Letter Queue (DLQ)
+            transactionTemplate.executeWithoutResult(status -> persist(events));
+        } catch (DataIntegrityViolationException e) {
+            // Most likely a redelivery older than the in-memory window
+            log.warn("⚠️ [Prism] Batch of {} signals rejected, retrying record by record: {}", events.size(), e.getMessage());
+            persistOneByOne(accepted);
+            return;
         }
+        accepted.forEach(record -> recentEventIds.remember(record.value().eventId()));
+        log.info("💾 [Prism] Batch persisted: {} signals ({} polled, {} duplicates)", events.size(), records.size(), duplicates);
+    }
+
+    private void persistOneByOne(List<ConsumerRecord<String, TicketSoldEvent>> records) {
+        for (ConsumerRecord<String, TicketSoldEvent> record : records) {
+            // A fresh entity: the failed batch may have left generated ids on the original
+            Event event = toPrismEvent(record.key(), record.value());
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(List.of(event)));
+            } catch (DataIntegrityViolationException e) {
+                if (alreadyIngested(record.value())) {
+                    log.debug("Dropping redelivered signal {}", record.value().eventId());
+                } else {
+                    deadLetter(record, e);
+                    continue;
+                }
+            }
+            recentEventIds.remember(record.value().eventId());
+        }
+    }
+
+    /**
+     * Inserts the events together with their idempotency keys; a key that already exists fails the
+     * transaction at flush, so a duplicate event row is never committed.
+     */
+    private void persist(List<Event> events) {
+        eventRepository.saveAll(events);
+        ingestedEventRepository.saveAll(events.stream()
+                .filter(event -> event.getSourceEventId() != null)
+                .map(event -> new IngestedEvent(event.getSourceEventId()))
+                .toList());
+    }
+
+    /**
+     * Tells a duplicate from any other integrity violation. Only reached after an INSERT was
+     * rejected, so the lookup is paid per duplicate rather than per message.
+     */
+    private boolean alreadyIngested(TicketSoldEvent signal) {
+        return signal.eventId() != null && ingestedEventRepository.existsById(signal.eventId());
+    }
+
+    private void rejectMalformed(ConsumerRecord<String, TicketSoldEvent> record) {
+        DeserializationException cause = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, DESERIALIZATION_LOG);
+        if (cause == null) {
+            // A tombstone, not a broken payload: nothing to ingest and nothing to park
+            log.debug("Skipping empty signal at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        deadLetter(record, cause);
+    }
+
+    private void deadLetter(ConsumerRecord<String, TicketSoldEvent> record, Exception cause) {
+        log.warn("☠️ [Prism] Dead-lettering signal at {}-{}@{}: {}",
+                record.topic(), record.partition(), record.offset(), cause.getMessage());
+        deadLetters.accept(record, cause);
+    }
+
+    /**
+     * Maps to Prism's Generic Domain Entity:
+     * a specific "Ticket Sold" becomes a generic "Discovery Event".
+     */
+    private Event toPrismEvent(String seatId, TicketSoldEvent signal) {
+        return Event.builder()
+                .sourceEventId(signal.eventId())
+                .title("Seat Reservation: " + seatId)
+                .category("TICKETING")
+                .status(Event.EventStatus.RECEIVED)
+                .metadata(Map.of(
+                        "source", "SENTINEL",
+                        "external_status", signal.status() != null ? signal.status() : "UNKNOWN",
+                        "seat_id", seatId,
+                        "occurred_at", String.valueOf(signal.timestamp())
+                ))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.smile.prism.command.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smile.prism.command.api.BulkIngestResult;
+import com.smile.prism.command.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BulkEventIngestServiceTests {
+
+	private static final int MAX_LINE_LENGTH = 64;
+
+	private final BulkEventIngestService service = new BulkEventIngestService(
+			mock(EventRepository.class), mock(TransactionTemplate.class), new ObjectMapper(), 2, 10, MAX_LINE_LENGTH);
+
+	@Test
+	void rejectsOverLongLinesWithoutLosingTheirNeighbours() throws IOException {
+		String body = """
+				{"title":"Cup Final"}
+				{"title":"%s"}
+				{"title":"Semi Final"}
+				""".formatted("x".repeat(10_000));
+
+		BulkIngestResult result = service.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.linesRead()).isEqualTo(3);
+		assertThat(result.created()).isEqualTo(2);
+		assertThat(result.rejected()).isEqualTo(1);
+		assertThat(result.errors()).singleElement().satisfies(error -> {
+			assertThat(error.line()).isEqualTo(2);
+			assertThat(error.message()).contains(String.valueOf(MAX_LINE_LENGTH));
+		});
+	}
+
+	@Test
+	void splitsLinesLikeReadLine() throws IOException {
+		BulkEventIngestService.BoundedLineReader reader = new BulkEventIngestService.BoundedLineReader(
+				new StringReader("first\r\n\nsecond\nlast without newline"), MAX_LINE_LENGTH);
+
+		assertThat(reader.readLine()).isEqualTo("first");
+		assertThat(reader.readLine()).isEmpty();
+		assertThat(reader.readLine()).isEqualTo("second");
+		assertThat(reader.readLine()).isEqualTo("last without newline");
+		assertThat(reader.readLine()).isNull();
+	}
+
+	@Test
+	void acceptsALineOfExactlyTheLimitWithACrlfTerminator() throws IOException {
+		String line = "y".repeat(MAX_LINE_LENGTH);
+		BulkEventIngestService.BoundedLineReader reader = new BulkEventIngestService.BoundedLineReader(
+				new StringReader(line + "\r\n" + line + "z\n"), MAX_LINE_LENGTH);
+
+		assertThat(reader.readLine()).isEqualTo(line);
+		assertThat(reader.overflowed()).isFalse();
+		assertThat(reader.readLine()).isEmpty();
+		assertThat(reader.overflowed()).isTrue();
+		assertThat(reader.readLine()).isNull();
+	}
+}
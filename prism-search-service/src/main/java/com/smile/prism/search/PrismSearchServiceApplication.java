@@ -2,8 +2,10 @@ package com.smile.prism.search;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class PrismSearchServiceApplication {
 
 	public static void main(String[] args) {
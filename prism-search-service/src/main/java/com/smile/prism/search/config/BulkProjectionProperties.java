@@ -0,0 +1,27 @@
+package com.smile.prism.search.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Flush thresholds and retry policy of the {@code bulk} projector mode.
+ *
+ * @param maxDocuments    Documents per {@code _bulk} request; also the most records one poll returns.
+ * @param maxBytes        Estimated body size per {@code _bulk} request; the broker answers a fetch early once this much is ready.
+ * @param linger          Longest a fetch waits on the broker for {@code maxBytes} before a smaller batch is flushed.
+ * @param maxRetries      Re-sends of the documents a bulk response rejected with a retryable status before the batch fails.
+ * @param retryBackoff    Pause before the first re-send, doubled on each further one.
+ * @param maxRetryBackoff Cap of the back-off between re-deliveries of a failed batch, which are retried until they succeed.
+ */
+@ConfigurationProperties(prefix = "prism.projector.bulk")
+public record BulkProjectionProperties(
+        @DefaultValue("1000") int maxDocuments,
+        @DefaultValue("5MB") DataSize maxBytes,
+        @DefaultValue("200ms") Duration linger,
+        @DefaultValue("3") int maxRetries,
+        @DefaultValue("200ms") Duration retryBackoff,
+        @DefaultValue("30s") Duration maxRetryBackoff
+) {}
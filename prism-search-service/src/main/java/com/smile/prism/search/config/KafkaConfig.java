@@ -0,0 +1,85 @@
+package com.smile.prism.search.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.cdc.CdcChangeParser;
+import com.nexus.concurrent.KeyOrderedExecutor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Properties;
+
+@Configuration
+public class KafkaConfig {
+
+    public static final String CDC_EVENTS_TOPIC = "prism-cdc.public.events";
+    public static final String KEY_ORDERED_CONTAINER_FACTORY = "keyOrderedContainerFactory";
+    public static final String BULK_CONTAINER_FACTORY = "bulkContainerFactory";
+
+    /**
+     * Manual, out-of-order acknowledgments: offsets are committed up to the first unacknowledged
+     * record of each partition, and fetching pauses until the previous poll is fully acknowledged.
+     */
+    @Bean(KEY_ORDERED_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> keyOrderedContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Workers of the listeners using {@link #KEY_ORDERED_CONTAINER_FACTORY}; closed with the context.
+     */
+    @Bean
+    public KeyOrderedExecutor keyOrderedExecutor() {
+        return new KeyOrderedExecutor();
+    }
+
+    /**
+     * Reader of the {@link #CDC_EVENTS_TOPIC} records, on the application's {@code ObjectMapper}.
+     */
+    @Bean
+    public CdcChangeParser cdcChangeParser(ObjectMapper objectMapper) {
+        return new CdcChangeParser(objectMapper);
+    }
+
+    /**
+     * Batch listeners whose polls are the flush units of the bulk projector: a poll returns at most
+     * {@code maxDocuments} records, and the broker answers a fetch once {@code maxBytes} are ready or
+     * {@code linger} has passed. Offsets are committed only when the listener returned; a failed batch
+     * is re-delivered with a capped exponential back-off and never skipped.
+     */
+    @Bean(BULK_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> bulkContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            BulkProjectionProperties bulk) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+
+        Properties fetch = new Properties();
+        fetch.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(bulk.maxDocuments()));
+        fetch.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(bulk.maxBytes().toBytes()));
+        // Otherwise a single busy partition could never fill fetch.min.bytes and every fetch would linger
+        fetch.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(bulk.maxBytes().toBytes()));
+        fetch.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(bulk.linger().toMillis()));
+        factory.getContainerProperties().setKafkaConsumerProperties(fetch);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(bulk.retryBackoff().toMillis(), ExponentialBackOff.DEFAULT_MULTIPLIER);
+        backOff.setMaxInterval(bulk.maxRetryBackoff().toMillis());
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
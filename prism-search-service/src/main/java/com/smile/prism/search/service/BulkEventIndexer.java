@@ -0,0 +1,150 @@
+package com.smile.prism.search.service;
+
+import com.smile.prism.search.config.BulkProjectionProperties;
+import com.smile.prism.search.document.EventDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes event documents through the Elasticsearch {@code _bulk} API.
+ * <p>
+ * Documents are split into requests of at most {@code maxDocuments} documents and {@code maxBytes}
+ * of estimated body, sent without a refresh so that visibility follows the index's refresh interval.
+ * When a response rejects some documents, only the rejected ones with a retryable status (429, 5xx)
+ * are sent again, with a doubling pause; those rejected for a data reason (e.g. a mapping conflict)
+ * are logged and dropped, as the record-mode projector does. {@link #index} returns normally only once
+ * every document was either indexed or dropped, so a caller may commit its offsets after it.
+ * Documents of deleted rows are removed by {@link #delete} in one request.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkEventIndexer {
+
+    private static final BulkOptions NO_REFRESH = BulkOptions.builder().withRefreshPolicy(RefreshPolicy.NONE).build();
+    // Action line and JSON field names around the values of one document
+    private static final int DOCUMENT_OVERHEAD_BYTES = 160;
+
+    private final ElasticsearchOperations operations;
+    private final BulkProjectionProperties properties;
+
+    public void index(Collection<EventDocument> documents) {
+        long maxBytes = properties.maxBytes().toBytes();
+        List<EventDocument> chunk = new ArrayList<>();
+        long chunkBytes = 0;
+
+        for (EventDocument document : documents) {
+            int size = estimatedSize(document);
+            if (!chunk.isEmpty() && (chunk.size() >= properties.maxDocuments() || chunkBytes + size > maxBytes)) {
+                send(chunk);
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(document);
+            chunkBytes += size;
+        }
+        if (!chunk.isEmpty()) {
+            send(chunk);
+        }
+    }
+
+    /**
+     * Removes the documents of deleted rows with a single delete-by-ids request, without a refresh.
+     * Ids that were never indexed are ignored.
+     */
+    public void delete(Collection<UUID> ids) {
+        List<String> values = ids.stream().map(UUID::toString).toList();
+        NativeQuery byIds = NativeQuery.builder().withQuery(query -> query.ids(idsQuery -> idsQuery.values(values))).build();
+        operations.delete(DeleteQuery.builder(byIds).withRefresh(false).build(), EventDocument.class);
+    }
+
+    private void send(List<EventDocument> chunk) {
+        List<EventDocument> pending = chunk;
+        Duration backoff = properties.retryBackoff();
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                operations.bulkIndex(toQueries(pending), NO_REFRESH, EventDocument.class);
+                return;
+            } catch (BulkFailureException e) {
+                pending = retryable(pending, e.getFailedDocuments());
+                if (pending.isEmpty()) {
+                    return;
+                }
+                if (attempt >= properties.maxRetries()) {
+                    throw e;
+                }
+                log.warn("[PRISM-PROJECTOR] Bulk request rejected {} documents, retrying in {}", pending.size(), backoff);
+                sleep(backoff, e);
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private static List<EventDocument> retryable(List<EventDocument> sent,
+                                                 Map<String, BulkFailureException.FailureDetails> failures) {
+        List<EventDocument> retry = new ArrayList<>(failures.size());
+        for (EventDocument document : sent) {
+            BulkFailureException.FailureDetails failure = failures.get(document.getId().toString());
+            if (failure == null) {
+                continue;
+            }
+            if (isRetryable(failure.status())) {
+                retry.add(document);
+            } else {
+                log.error("[PRISM-PROJECTOR] Document {} rejected with status {}: {}",
+                        document.getId(), failure.status(), failure.errorMessage());
+            }
+        }
+        return retry;
+    }
+
+    private static boolean isRetryable(Integer status) {
+        return status == null || status == 429 || status >= 500;
+    }
+
+    private static List<IndexQuery> toQueries(List<EventDocument> documents) {
+        List<IndexQuery> queries = new ArrayList<>(documents.size());
+        for (EventDocument document : documents) {
+            queries.add(new IndexQueryBuilder()
+                    .withId(document.getId().toString())
+                    .withObject(document)
+                    .build());
+        }
+        return queries;
+    }
+
+    private static int estimatedSize(EventDocument document) {
+        return DOCUMENT_OVERHEAD_BYTES + length(document.getTitle()) + length(document.getCategory())
+                + length(document.getStatus());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static void sleep(Duration backoff, BulkFailureException failure) {
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
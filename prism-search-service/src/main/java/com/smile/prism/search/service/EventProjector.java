@@ -1,45 +1,142 @@
 package com.smile.prism.search.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.cdc.CdcChangeParser;
+import com.nexus.concurrent.KeyOrderedExecutor;
+import com.smile.prism.search.config.KafkaConfig;
 import com.smile.prism.search.document.EventDocument;
 import com.smile.prism.search.repository.EventSearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Projects CDC changes of the Prism {@code events} table into Elasticsearch.
+ * <p>
+ * {@code prism.projector.mode} selects the listener: {@code bulk} (default) indexes each poll through
+ * one or more {@code _bulk} requests, {@code record} projects one change at a time per partition, and
+ * {@code key-ordered} fans a partition out to virtual threads while changes to the same row, which
+ * share the Debezium record key, are applied in order.
+ * <p>
+ * Records are read by {@link CdcChangeParser}, which accepts the full {@code JsonConverter} envelope
+ * as well as the schemaless and flattened shapes.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventProjector {
 
     private final EventSearchRepository searchRepository;
-    private final ObjectMapper objectMapper;
+    private final CdcChangeParser changeParser;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final BulkEventIndexer bulkIndexer;
 
-    @KafkaListener(topics = "prism-cdc.public.events", groupId = "prism-search-group")
+    @KafkaListener(topics = KafkaConfig.CDC_EVENTS_TOPIC, groupId = "prism-search-group",
+            autoStartup = "#{'${prism.projector.mode:bulk}' == 'record'}")
     public void processCdcEvent(String message) {
         try {
-            JsonNode payload = objectMapper.readTree(message).path("payload");
-            String op = payload.path("op").asText();
-
-            if (!"d".equals(op)) {
-                JsonNode after = payload.path("after");
+            if (message == null) {
+                // Tombstone following a delete: nothing left to project
+                return;
+            }
+            CdcChangeParser.CdcChange change = changeParser.parse(message);
 
-                EventDocument doc = EventDocument.builder()
-                        .id(UUID.fromString(after.path("id").asText())) // Safe parsing to UUID
-                        .title(after.path("title").asText())
-                        .category(after.path("category").asText())
-                        .status(after.path("status").asText())
-                        .build();
+            if (!change.isDelete()) {
+                EventDocument doc = toDocument(change);
 
                 searchRepository.save(doc);
                 log.info("[PRISM-PROJECTOR] Document indexed successfully. ID: {}", doc.getId());
+            } else if (change.id() != null) {
+                searchRepository.deleteById(change.id());
+                log.info("[PRISM-PROJECTOR] Document deleted. ID: {}", change.id());
             }
         } catch (Exception e) {
             log.error("[PRISM-PROJECTOR] Critical failure during CDC projection: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Parallel variant of {@link #processCdcEvent}. Each record is acknowledged when its projection has
+     * finished, and the container commits only up to the lowest unfinished offset, so a restart
+     * re-projects unfinished changes rather than losing them.
+     */
+    @KafkaListener(topics = KafkaConfig.CDC_EVENTS_TOPIC, groupId = "prism-search-group",
+            containerFactory = KafkaConfig.KEY_ORDERED_CONTAINER_FACTORY,
+            autoStartup = "#{'${prism.projector.mode:bulk}' == 'key-ordered'}")
+    public void processCdcEventKeyOrdered(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        keyOrderedExecutor.execute(record.key(), () -> processCdcEvent(record.value()), ack::acknowledge);
+    }
+
+    /**
+     * Batch variant of {@link #processCdcEvent}: a poll (bounded by {@code prism.projector.bulk}) is
+     * collapsed to the latest change per row and applied by {@link BulkEventIndexer}, so a burst of
+     * updates to one event costs a single document write and a row whose last change is a delete is
+     * only deleted. Malformed records are logged and skipped as in record mode. Anything else that
+     * fails propagates, and the container re-delivers the batch without committing its offsets;
+     * writing and deleting by id makes the redelivery harmless.
+     */
+    @KafkaListener(topics = KafkaConfig.CDC_EVENTS_TOPIC, groupId = "prism-search-group",
+            containerFactory = KafkaConfig.BULK_CONTAINER_FACTORY,
+            autoStartup = "#{'${prism.projector.mode:bulk}' == 'bulk'}")
+    public void processCdcEvents(List<ConsumerRecord<String, String>> records) {
+        Map<UUID, CdcChangeParser.CdcChange> latest = new LinkedHashMap<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            CdcChangeParser.CdcChange change;
+            try {
+                change = changeParser.parse(record.value());
+            } catch (IOException | IllegalArgumentException e) {
+                // Unparseable JSON or a malformed id: redelivering it would only block the partition
+                log.error("[PRISM-PROJECTOR] Skipping unreadable CDC record at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+                continue;
+            }
+            if (change.id() != null) {
+                // Re-inserted so that iteration follows each row's latest change
+                latest.remove(change.id());
+                latest.put(change.id(), change);
+            }
+        }
+
+        List<EventDocument> documents = new ArrayList<>(latest.size());
+        List<UUID> deleted = new ArrayList<>();
+        latest.forEach((id, change) -> {
+            if (change.isDelete()) {
+                deleted.add(id);
+            } else {
+                documents.add(toDocument(change));
+            }
+        });
+        if (!documents.isEmpty()) {
+            bulkIndexer.index(documents);
+        }
+        if (!deleted.isEmpty()) {
+            bulkIndexer.delete(deleted);
+        }
+        if (!latest.isEmpty()) {
+            log.info("[PRISM-PROJECTOR] Bulk-indexed {} and deleted {} documents from {} CDC records",
+                    documents.size(), deleted.size(), records.size());
+        }
+    }
+
+    private static EventDocument toDocument(CdcChangeParser.CdcChange change) {
+        return EventDocument.builder()
+                .id(change.id())
+                .title(change.title())
+                .category(change.category())
+                .status(change.status())
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.smile.prism.search.service;
+
+import com.smile.prism.search.config.BulkProjectionProperties;
+import com.smile.prism.search.document.EventDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkEventIndexerTests {
+
+	private static final BulkProjectionProperties PROPERTIES = new BulkProjectionProperties(
+			4, DataSize.ofKilobytes(1), Duration.ZERO, 2, Duration.ofMillis(1), Duration.ofSeconds(1));
+
+	private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+	private final List<List<String>> requests = new ArrayList<>();
+	private final List<BulkOptions> options = new ArrayList<>();
+	private final BulkEventIndexer indexer = new BulkEventIndexer(operations, PROPERTIES);
+
+	@BeforeEach
+	void recordRequests() {
+		respond(List.of());
+	}
+
+	@Test
+	void splitsRequestsAtMaxDocuments() {
+		indexer.index(documents(11, "Cup Final"));
+
+		assertThat(requests).extracting(List::size).containsExactly(4, 4, 3);
+		assertThat(options).extracting(BulkOptions::getRefreshPolicy).containsOnly(RefreshPolicy.NONE);
+	}
+
+	@Test
+	void splitsRequestsAtMaxBytes() {
+		// 160 bytes of overhead plus a 400-character title: two documents exceed the 1 KB cap
+		indexer.index(documents(3, "x".repeat(400)));
+
+		assertThat(requests).extracting(List::size).containsExactly(1, 1, 1);
+	}
+
+	@Test
+	void resendsOnlyDocumentsRejectedWithTooManyRequests() {
+		List<EventDocument> documents = documents(3, "Cup Final");
+		String throttled = id(documents.get(0));
+		String conflicting = id(documents.get(1));
+		respond(List.of(failure(Map.of(
+				throttled, new BulkFailureException.FailureDetails(429, "es_rejected_execution_exception"),
+				conflicting, new BulkFailureException.FailureDetails(400, "mapper_parsing_exception")))));
+
+		indexer.index(documents);
+
+		assertThat(requests).hasSize(2);
+		assertThat(requests.get(1)).containsExactly(throttled);
+	}
+
+	@Test
+	void dropsDocumentsRejectedForADataReasonWithoutRetrying() {
+		List<EventDocument> documents = documents(2, "Cup Final");
+		respond(List.of(failure(Map.of(
+				id(documents.get(0)), new BulkFailureException.FailureDetails(400, "mapper_parsing_exception")))));
+
+		indexer.index(documents);
+
+		assertThat(requests).hasSize(1);
+	}
+
+	@Test
+	void failsOnceRetriesAreExhausted() {
+		List<EventDocument> documents = documents(1, "Cup Final");
+		BulkFailureException unavailable = failure(Map.of(
+				id(documents.get(0)), new BulkFailureException.FailureDetails(503, "unavailable_shards_exception")));
+		respond(List.of(unavailable, unavailable, unavailable, unavailable));
+
+		assertThatThrownBy(() -> indexer.index(documents)).isSameAs(unavailable);
+		assertThat(requests).hasSize(1 + PROPERTIES.maxRetries());
+	}
+
+	/**
+	 * Records every bulk request, failing the first ones with the given exceptions in turn.
+	 */
+	private void respond(List<BulkFailureException> failures) {
+		when(operations.bulkIndex(anyList(), any(BulkOptions.class), eq(EventDocument.class))).thenAnswer(invocation -> {
+			List<IndexQuery> queries = invocation.getArgument(0);
+			requests.add(queries.stream().map(IndexQuery::getId).toList());
+			options.add(invocation.getArgument(1));
+			if (requests.size() <= failures.size()) {
+				throw failures.get(requests.size() - 1);
+			}
+			return List.of();
+		});
+	}
+
+	private static BulkFailureException failure(Map<String, BulkFailureException.FailureDetails> failedDocuments) {
+		return new BulkFailureException("Bulk operation has failures", failedDocuments);
+	}
+
+	private static List<EventDocument> documents(int count, String title) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> EventDocument.builder()
+						.id(UUID.randomUUID())
+						.title(title)
+						.category("SPORTS")
+						.status("PUBLISHED")
+						.build())
+				.toList();
+	}
+
+	private static String id(EventDocument document) {
+		return document.getId().toString();
+	}
+}
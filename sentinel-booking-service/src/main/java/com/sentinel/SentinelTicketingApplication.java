@@ -1,11 +1,17 @@
 package com.sentinel;
 
+import com.sentinel.inventory.InventoryImportRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import java.util.TimeZone;
 
 @SpringBootApplication
+@EnableScheduling
+@ConfigurationPropertiesScan
 @EnableJpaRepositories(basePackages = "com.sentinel.repository")
 public class SentinelTicketingApplication {
 
@@ -17,6 +23,11 @@ public class SentinelTicketingApplication {
 		 */
 		TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
 
-		SpringApplication.run(SentinelTicketingApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(SentinelTicketingApplication.class, args);
+
+		// A CLI inventory import is done once run() returns; close the context and exit with its code
+		if (context.getEnvironment().containsProperty(InventoryImportRunner.FILE_PROPERTY)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
-}
\ No newline at end of file
+}
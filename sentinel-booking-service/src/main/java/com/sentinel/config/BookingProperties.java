@@ -0,0 +1,98 @@
+package com.sentinel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Externalized tuning knobs for the booking write-path.
+ * <p>
+ * Bound from the {@code sentinel.booking.*} namespace so that the reservation strategy
+ * can be switched per deployment (e.g. a dedicated flash-sale profile) without a rebuild.
+ *
+ * @param engine      The reservation strategy used by {@code BookingService}.
+ * @param writeBehind Settings for the Redis -> Postgres write-behind worker.
+ * @param outbox      Settings for the ticketing outbox relay.
+ * @param admission   Settings for the per-event waiting room.
+ * @param hold        Settings for temporary seat holds (hold-then-confirm checkout).
+ * @param sequencer   Settings for the partitioned single-writer engine.
+ */
+@ConfigurationProperties(prefix = "sentinel.booking")
+public record BookingProperties(
+        @DefaultValue("LOCK") ReservationEngine engine,
+        @DefaultValue WriteBehind writeBehind,
+        @DefaultValue Outbox outbox,
+        @DefaultValue Admission admission,
+        @DefaultValue Hold hold,
+        @DefaultValue Sequencer sequencer
+) {
+
+    public enum ReservationEngine {
+        /** Redisson lock + JPA read-modify-write (default). */
+        LOCK,
+        /** Single guarded UPDATE against Postgres, no Redis hop and no entity load. */
+        CONDITIONAL_UPDATE,
+        /** Atomic Redis script claim, Postgres updated asynchronously by the write-behind worker. */
+        REDIS_SCRIPT,
+        /** Requests queued per seat-hash partition and applied in batches by one writer thread each. */
+        SEQUENCED
+    }
+
+    /**
+     * @param batchSize     Maximum number of claims applied to Postgres per flush.
+     * @param claimIdleTime Time after which claims pending on a dead node are taken over.
+     * @param consumerName  Stable consumer name of this node inside the stream group.
+     * @param maxDeliveries Deliveries of a failing claim before it is moved to the dead-letter stream.
+     */
+    public record WriteBehind(
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("30s") Duration claimIdleTime,
+            @DefaultValue("sentinel-node") String consumerName,
+            @DefaultValue("5") int maxDeliveries
+    ) {}
+
+    /**
+     * @param batchSize   Maximum number of outbox rows relayed per transaction.
+     * @param sendTimeout Maximum time to wait for the broker to acknowledge one batch.
+     */
+    public record Outbox(
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("10s") Duration sendTimeout
+    ) {}
+
+    /**
+     * @param enabled       Whether reservation attempts pass through the waiting room at all.
+     * @param maxConcurrent Attempts per event allowed to run at the same time on one node.
+     * @param maxQueueDepth Waiting attempts per event beyond which new requests are rejected outright.
+     * @param maxWait       Longest time a request waits for admission before giving up.
+     */
+    public record Admission(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("64") int maxConcurrent,
+            @DefaultValue("2000") int maxQueueDepth,
+            @DefaultValue("2s") Duration maxWait
+    ) {}
+
+    /**
+     * @param ttl       How long a hold keeps a seat before it is released back to sale.
+     * @param sweepTick Resolution of the node-local expiry wheel.
+     */
+    public record Hold(
+            @DefaultValue("10m") Duration ttl,
+            @DefaultValue("100ms") Duration sweepTick
+    ) {}
+
+    /**
+     * @param partitions    Number of ring buffers, each drained by its own writer thread.
+     * @param capacity      Requests one buffer holds before new ones are rejected with SYSTEM_BUSY.
+     * @param batchSize     Maximum number of requests a writer applies per transaction.
+     * @param resultTimeout Longest time a caller waits for its batch to commit.
+     */
+    public record Sequencer(
+            @DefaultValue("8") int partitions,
+            @DefaultValue("4096") int capacity,
+            @DefaultValue("256") int batchSize,
+            @DefaultValue("5s") Duration resultTimeout
+    ) {}
+}
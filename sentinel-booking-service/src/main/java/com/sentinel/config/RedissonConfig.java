@@ -15,6 +15,8 @@ public class RedissonConfig {
         // This connects to the Redis we set up in Docker
         config.useSingleServer()
                 .setAddress("redis://127.0.0.1:6379");
+        // Lua scripts are sent once and afterwards invoked via EVALSHA (hot-path reservations)
+        config.setUseScriptCache(true);
         return Redisson.create(config);
     }
-}
\ No newline at end of file
+}
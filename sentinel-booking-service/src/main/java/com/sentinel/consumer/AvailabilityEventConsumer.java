@@ -0,0 +1,32 @@
+package com.sentinel.consumer;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.service.SeatAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the node-local {@link SeatAvailabilityIndex} (and with it the local tier of
+ * {@code SoldSeatCache}) in sync with reservations made on other nodes.
+ * <p>
+ * Every node subscribes with its own consumer group so that each one sees the full stream.
+ * Offsets start at "latest" because the index itself is warmed from Postgres on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityEventConsumer {
+
+    private final SeatAvailabilityIndex availabilityIndex;
+
+    @KafkaListener(
+            topics = "sentinel.public.ticketing",
+            groupId = "sentinel-availability-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void onTicketSold(TicketSoldEvent event) {
+        availabilityIndex.markReserved(event.seatId());
+        log.debug("Availability index updated from stream. SeatID: {}", event.seatId());
+    }
+}
@@ -1,15 +1,30 @@
 package com.sentinel.controller;
 
+import com.sentinel.dto.AvailabilitySummary;
+import com.sentinel.dto.AvailableSeatPage;
 import com.sentinel.dto.BookingResponse;
-import com.sentinel.model.Seat;
-import com.sentinel.repository.SeatRepository;
+import com.sentinel.dto.GroupBookingRequest;
+import com.sentinel.dto.GroupBookingResponse;
+import com.sentinel.dto.QueueStatus;
+import com.sentinel.dto.SeatHold;
+import com.sentinel.dto.SeatListing;
+import com.sentinel.service.AdmissionGate;
+import com.sentinel.service.AvailabilityQueryService;
 import com.sentinel.service.BookingService;
+import com.sentinel.service.ReservationRequestTracker;
+import com.sentinel.service.SeatAvailabilityIndex;
+import com.sentinel.service.SeatHoldService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * REST controller for managing high-concurrency seat reservation workflows.
@@ -21,14 +36,67 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
-    private final SeatRepository seatRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final AvailabilityQueryService availabilityQueryService;
+    private final AdmissionGate admissionGate;
+    private final SeatHoldService seatHoldService;
+    private final ReservationRequestTracker requestTracker;
 
     /**
-     * Retrieves the current inventory of unreserved seats.
+     * Retrieves the current inventory of unreserved seats, optionally restricted to one event
+     * (a single-partition query). Seats are read as projections; prefer {@code /available/page} or
+     * {@code /available/stream} for large venues.
      */
     @GetMapping("/available")
-    public List<Seat> getAvailableSeats() {
-        return seatRepository.findByIsReservedFalse();
+    public List<SeatListing> getAvailableSeats(@RequestParam(required = false) String event) {
+        return availabilityQueryService.listAvailable(event);
+    }
+
+    /**
+     * Keyset-paginated listing of unreserved seats, optionally filtered by event.
+     * Pass the returned {@code nextCursor} as {@code after} to fetch the following page.
+     */
+    @GetMapping("/available/page")
+    public AvailableSeatPage getAvailableSeatPage(@RequestParam(required = false) String event,
+                                                  @RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "100") int size) {
+        return availabilityQueryService.page(event, after, size);
+    }
+
+    /**
+     * Streams every unreserved seat as a JSON array, written incrementally from a database cursor.
+     */
+    @GetMapping(value = "/available/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailableSeats(@RequestParam(required = false) String event) {
+        StreamingResponseBody body = out -> availabilityQueryService.streamAvailable(event, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Per-event seat counts served from the in-memory availability index (no database access).
+     */
+    @GetMapping("/availability")
+    public List<AvailabilitySummary> getAvailability() {
+        return availabilityIndex.summaries();
+    }
+
+    /**
+     * Count and lowest free seat ids of one event, served from the in-memory availability index.
+     */
+    @GetMapping("/availability/{eventName}")
+    public ResponseEntity<AvailabilitySummary> getEventAvailability(@PathVariable String eventName,
+                                                                    @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.of(availabilityIndex.summary(eventName, Math.max(0, limit)));
+    }
+
+    /**
+     * Current waiting-room depth and estimated wait for an event on this node.
+     */
+    @GetMapping("/queue/{eventName}")
+    public QueueStatus getQueueStatus(@PathVariable String eventName) {
+        return availabilityIndex.eventIdNamed(eventName)
+                .map(eventId -> admissionGate.status(eventId, eventName))
+                .orElseGet(() -> new QueueStatus(eventName, 0, 0, 0));
     }
 
     /**
@@ -37,8 +105,37 @@ public class BookingController {
      */
     @PostMapping("/reserve/{seatId}")
     public ResponseEntity<BookingResponse> reserve(@PathVariable Long seatId) {
-        String result = bookingService.reserveSeat(seatId);
+        return reservationResponse(seatId, bookingService.reserveSeat(seatId));
+    }
 
+    /**
+     * Accepts a reservation and answers immediately with 202 and the request's status URI in
+     * {@code Location}; the outcome is then polled through {@link #reservationStatus(UUID)}.
+     */
+    @PostMapping("/reserve/{seatId}/async")
+    public ResponseEntity<BookingResponse> reserveAsync(@PathVariable Long seatId) {
+        UUID requestId = requestTracker.track(seatId, bookingService.reserveSeatAsync(seatId));
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/bookings/requests/" + requestId))
+                .body(new BookingResponse("Reservation accepted: Poll the request location for the outcome", seatId, "PENDING"));
+    }
+
+    /**
+     * Outcome of an asynchronous reservation: 202 while it is still in flight, then the same
+     * response {@code POST /reserve/{seatId}} would have given.
+     */
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<BookingResponse> reservationStatus(@PathVariable UUID requestId) {
+        return requestTracker.find(requestId)
+                .map(tracked -> tracked.result().isDone()
+                        ? reservationResponse(tracked.seatId(), tracked.result().join())
+                        : ResponseEntity.accepted()
+                                .body(new BookingResponse("Reservation in progress", tracked.seatId(), "PENDING")))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<BookingResponse> reservationResponse(Long seatId, String result) {
         return switch (result) {
             case "SUCCESS" -> ResponseEntity.status(HttpStatus.CREATED)
                     .body(new BookingResponse("Seat reserved successfully", seatId, "SUCCESS"));
@@ -46,8 +143,83 @@ public class BookingController {
             case "ALREADY_RESERVED" -> ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(new BookingResponse("Resource state conflict: Seat already taken", seatId, "TAKEN"));
 
+            case "HELD" -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new BookingResponse("Resource state conflict: Seat held by another customer", seatId, "HELD"));
+
             default -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                     .body(new BookingResponse("Request failed: Lock acquisition timeout or system busy", seatId, "RETRY"));
         };
     }
+
+    /**
+     * Holds a seat for checkout without selling it. The hold is a Redis key with a TTL for every engine, so
+     * placing, releasing or abandoning it writes nothing to Postgres; only the confirm sells the seat. It
+     * lapses after {@code sentinel.booking.hold.ttl} unless confirmed or released with the returned token.
+     */
+    @PostMapping("/holds/{seatId}")
+    public ResponseEntity<SeatHold> hold(@PathVariable Long seatId) {
+        SeatHold hold = seatHoldService.hold(seatId);
+        HttpStatus status = "SUCCESS".equals(hold.status()) ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(hold);
+    }
+
+    /**
+     * Sells a held seat to the holder of the token.
+     */
+    @PostMapping("/holds/{seatId}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable Long seatId, @RequestParam UUID token) {
+        String result = bookingService.confirmHold(seatId, token);
+
+        return switch (result) {
+            case "SUCCESS" -> ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new BookingResponse("Seat reserved successfully", seatId, "SUCCESS"));
+
+            case "ALREADY_RESERVED" -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new BookingResponse("Resource state conflict: Seat already taken", seatId, "TAKEN"));
+
+            case "HOLD_EXPIRED" -> ResponseEntity.status(HttpStatus.GONE)
+                    .body(new BookingResponse("Hold expired or released: Seat must be held again", seatId, "EXPIRED"));
+
+            default -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new BookingResponse("Request failed: Lock acquisition timeout or system busy", seatId, "RETRY"));
+        };
+    }
+
+    /**
+     * Gives a held seat back to sale before its hold lapses.
+     */
+    @DeleteMapping("/holds/{seatId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long seatId, @RequestParam UUID token) {
+        return seatHoldService.release(seatId, token)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Reserves several seats in one all-or-nothing operation.
+     * A conflict on any seat leaves every seat of the group untouched. With the REDIS_SCRIPT engine all
+     * seats must belong to one event.
+     */
+    @PostMapping("/reserve")
+    public ResponseEntity<GroupBookingResponse> reserveGroup(@RequestBody @Valid GroupBookingRequest request) {
+        List<Long> seatIds = request.seatIds();
+        String result = bookingService.reserveSeats(seatIds);
+
+        return switch (result) {
+            case "SUCCESS" -> ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new GroupBookingResponse("Seats reserved successfully", seatIds, "SUCCESS"));
+
+            case "ALREADY_RESERVED" -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new GroupBookingResponse("Resource state conflict: At least one seat already taken", seatIds, "TAKEN"));
+
+            case "HELD" -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new GroupBookingResponse("Resource state conflict: At least one seat held by another customer", seatIds, "HELD"));
+
+            case "MIXED_EVENTS" -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new GroupBookingResponse("Invalid request: All seats of a group must belong to one event", seatIds, "REJECTED"));
+
+            default -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new GroupBookingResponse("Request failed: Lock acquisition timeout or system busy", seatIds, "RETRY"));
+        };
+    }
 }
\ No newline at end of file
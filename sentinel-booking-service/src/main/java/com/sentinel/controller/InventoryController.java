@@ -0,0 +1,43 @@
+package com.sentinel.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentinel.dto.InventoryImportResult;
+import com.sentinel.inventory.SeatInventoryImporter;
+import com.sentinel.inventory.SeatMapFormat;
+import com.sentinel.inventory.SeatRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+/**
+ * Venue onboarding: bulk import of seat maps into an event's inventory.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+    private final SeatInventoryImporter importer;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams a seat map ({@code text/csv} or {@code application/x-ndjson}) straight from the request
+     * body into the event's inventory; the file is never buffered as a whole.
+     */
+    @PostMapping(value = "/events/{eventId}/seats", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<InventoryImportResult> importSeats(@PathVariable long eventId,
+                                                             @RequestParam String eventName,
+                                                             @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body) throws IOException {
+        SeatMapFormat format = SeatMapFormat.detect(contentType);
+        try (Stream<SeatRow> rows = format.read(body, objectMapper)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(importer.importSeats(eventId, eventName, rows));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sentinel.dto;
+
+import java.util.List;
+
+/**
+ * Availability snapshot for one event, answered from the in-memory index.
+ *
+ * @param eventName      The event the seats belong to.
+ * @param totalSeats     Number of seats known for the event.
+ * @param availableSeats Number of seats still free.
+ * @param firstAvailable The lowest free seat ids, capped by the requested limit.
+ */
+public record AvailabilitySummary(
+        String eventName,
+        int totalSeats,
+        int availableSeats,
+        List<Long> firstAvailable
+) {}
@@ -0,0 +1,14 @@
+package com.sentinel.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a free seat for listing endpoints.
+ * Built directly by the query, so no managed {@code Seat} entities (or their version state) are held.
+ */
+public record AvailableSeat(
+        Long id,
+        String seatNumber,
+        String eventName,
+        BigDecimal price
+) {}
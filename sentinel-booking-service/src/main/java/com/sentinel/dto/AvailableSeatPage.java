@@ -0,0 +1,14 @@
+package com.sentinel.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of free seats.
+ *
+ * @param seats      The seats of this page, ordered by id.
+ * @param nextCursor The id to pass as {@code after} for the next page, or {@code null} on the last page.
+ */
+public record AvailableSeatPage(
+        List<AvailableSeat> seats,
+        Long nextCursor
+) {}
@@ -0,0 +1,18 @@
+package com.sentinel.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request payload for an all-or-nothing group reservation.
+ *
+ * @param seatIds The seats to reserve together (typically adjacent seats of one party).
+ */
+public record GroupBookingRequest(
+        @NotEmpty
+        @Size(max = 8, message = "A group booking may contain at most 8 seats")
+        List<@NotNull Long> seatIds
+) {}
@@ -0,0 +1,9 @@
+package com.sentinel.dto;
+
+import java.util.List;
+
+public record GroupBookingResponse(
+        String message,
+        List<Long> seatIds,
+        String status
+) {}
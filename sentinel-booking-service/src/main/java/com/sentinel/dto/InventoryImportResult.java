@@ -0,0 +1,20 @@
+package com.sentinel.dto;
+
+/**
+ * Summary of a bulk seat import.
+ *
+ * @param eventId       The event the seats were added to.
+ * @param eventName     Display name of the event.
+ * @param seatsImported Number of seats inserted.
+ * @param firstSeatId   Lowest id assigned in this import, {@code null} if the file was empty.
+ * @param lastSeatId    Highest id assigned in this import, {@code null} if the file was empty.
+ * @param elapsedMillis Wall-clock time of the import, including cache warm-up.
+ */
+public record InventoryImportResult(
+        Long eventId,
+        String eventName,
+        int seatsImported,
+        Long firstSeatId,
+        Long lastSeatId,
+        long elapsedMillis
+) {}
@@ -0,0 +1,16 @@
+package com.sentinel.dto;
+
+/**
+ * Live view of an event's waiting room on this node.
+ *
+ * @param eventName       The event the queue belongs to.
+ * @param inFlight        Reservation attempts currently admitted.
+ * @param queued          Attempts waiting for admission.
+ * @param estimatedWaitMs Expected wait for a request joining the queue now.
+ */
+public record QueueStatus(
+        String eventName,
+        int inFlight,
+        int queued,
+        long estimatedWaitMs
+) {}
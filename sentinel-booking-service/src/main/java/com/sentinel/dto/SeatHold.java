@@ -0,0 +1,24 @@
+package com.sentinel.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a hold request: {@code SUCCESS}, {@code ALREADY_RESERVED} (sold) or {@code HELD} (held by
+ * another customer). On success the token must be presented to confirm or release the hold.
+ */
+public record SeatHold(
+        Long seatId,
+        UUID holdToken,
+        Instant expiresAt,
+        String status
+) {
+
+    public static SeatHold granted(Long seatId, UUID holdToken, Instant expiresAt) {
+        return new SeatHold(seatId, holdToken, expiresAt, "SUCCESS");
+    }
+
+    public static SeatHold rejected(Long seatId, String status) {
+        return new SeatHold(seatId, null, null, status);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sentinel.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection with the JSON shape of a {@code Seat} entity, for the plain {@code /available} listing.
+ * Built directly by the query, so the listing never loads managed entities into the persistence context.
+ */
+public record SeatListing(
+        Long id,
+        String seatNumber,
+        Long eventId,
+        String eventName,
+        BigDecimal price,
+        boolean reserved,
+        Long version
+) {}
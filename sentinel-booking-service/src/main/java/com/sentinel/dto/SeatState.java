@@ -0,0 +1,12 @@
+package com.sentinel.dto;
+
+/**
+ * Minimal per-seat state needed to build the in-memory availability index.
+ * Fetched through a JPQL constructor expression, so no managed entities are created.
+ */
+public record SeatState(
+        Long id,
+        Long eventId,
+        String eventName,
+        boolean reserved
+) {}
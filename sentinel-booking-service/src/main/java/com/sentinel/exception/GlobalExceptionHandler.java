@@ -1,6 +1,7 @@
 package com.sentinel.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +12,21 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Load shedding from the per-event waiting room: tell the client when to come back.
+     */
+    @ExceptionHandler(WaitingRoomFullException.class)
+    public ResponseEntity<Map<String, String>> handleWaitingRoomFull(WaitingRoomFullException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.getEstimatedWait().toMillis() + 999) / 1000);
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of(
+                        "error", ex.getMessage(),
+                        "queueDepth", String.valueOf(ex.getQueueDepth()),
+                        "estimatedWaitMs", String.valueOf(ex.getEstimatedWait().toMillis())));
+    }
+
     /**
      * Handles specific business logic failures.
      */
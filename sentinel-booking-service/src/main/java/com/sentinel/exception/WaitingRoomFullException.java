@@ -0,0 +1,24 @@
+package com.sentinel.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Raised when an event's waiting room is already at its configured depth.
+ * Mapped to {@code 429 Too Many Requests} with a {@code Retry-After} hint.
+ */
+@Getter
+public class WaitingRoomFullException extends RuntimeException {
+
+    private final long eventId;
+    private final int queueDepth;
+    private final Duration estimatedWait;
+
+    public WaitingRoomFullException(long eventId, int queueDepth, Duration estimatedWait) {
+        super("Waiting room full for event: " + eventId);
+        this.eventId = eventId;
+        this.queueDepth = queueDepth;
+        this.estimatedWait = estimatedWait;
+    }
+}
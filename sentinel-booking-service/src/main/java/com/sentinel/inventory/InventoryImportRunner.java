@@ -0,0 +1,67 @@
+package com.sentinel.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sentinel.dto.InventoryImportResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Command-line import path, for loading a venue without going through HTTP:
+ * <pre>
+ * java -jar sentinel-booking-service.jar --spring.main.web-application-type=none \
+ *      --sentinel.inventory.import.file=stadium.csv \
+ *      --sentinel.inventory.import.event-id=42 \
+ *      --sentinel.inventory.import.event-name="Cup Final"
+ * </pre>
+ * The application exits once the import finished (exit code 0 on success), see {@code SentinelTicketingApplication#main}.
+ * Running nodes load the new seats from Postgres on the first request for one of them or for their event name,
+ * see {@code SeatAvailabilityIndex#requireEventId} and {@code SeatAvailabilityIndex#eventIdNamed}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sentinel.inventory.import", name = "file")
+public class InventoryImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final String FILE_PROPERTY = "sentinel.inventory.import.file";
+
+    private final SeatInventoryImporter importer;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    private volatile int exitCode = 1;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = Path.of(environment.getRequiredProperty(FILE_PROPERTY));
+        long eventId = environment.getRequiredProperty("sentinel.inventory.import.event-id", Long.class);
+        String eventName = environment.getRequiredProperty("sentinel.inventory.import.event-name");
+
+        SeatMapFormat format = SeatMapFormat.detect(file.getFileName().toString());
+        try (InputStream in = Files.newInputStream(file);
+             Stream<SeatRow> rows = format.read(in, objectMapper)) {
+            InventoryImportResult result = importer.importSeats(eventId, eventName, rows);
+            log.info("CLI import finished: {}", result);
+        }
+        exitCode = 0;
+    }
+
+    /**
+     * Picked up by {@code SpringApplication.exit} once {@code main} closes the context after the import.
+     */
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
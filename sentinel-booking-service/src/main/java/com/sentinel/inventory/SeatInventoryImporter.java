@@ -0,0 +1,137 @@
+package com.sentinel.inventory;
+
+import com.sentinel.config.BookingProperties;
+import com.sentinel.dto.InventoryImportResult;
+import com.sentinel.service.RedisSeatClaimService;
+import com.sentinel.service.SeatAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Bulk seat loader for venue onboarding.
+ * <p>
+ * Rows are streamed from the seat map and written with JDBC batch inserts of {@value #BATCH_SIZE}
+ * (rewritten into multi-row INSERTs by the Postgres driver), bypassing the persistence context.
+ * Ids come from {@code seats_seq}: each sequence value {@code v} owns the block {@code (v - 50, v]},
+ * the same contract as Hibernate's pooled optimizer on the {@code Seat} entity, so one round trip
+ * reserves the ids for a whole batch.
+ * <p>
+ * The import is a single transaction. After it commits, the availability index and (for the
+ * REDIS_SCRIPT engine) the event's Redis known-seat set are warmed from the ids collected on the way,
+ * without reading the seats back. Other nodes' indexes load the event lazily.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatInventoryImporter {
+
+    static final int BATCH_SIZE = 1000;
+    /** Must match {@code allocationSize} of the {@code seats_seq} generator on {@code Seat}. */
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT_SEAT = "insert into seats (id, event_id, event_name, seat_number, price, is_reserved, version) " +
+            "values (?, ?, ?, ?, ?, false, 0)";
+    private static final String NEXT_ID_BLOCKS = "select nextval('seats_seq') from generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final RedisSeatClaimService claimService;
+    private final BookingProperties properties;
+
+    /**
+     * Inserts every row of the seat map as a free seat of the given event.
+     *
+     * @param eventId   The event (and inventory partition) the seats belong to.
+     * @param eventName Display name of the event.
+     * @param rows      The seat map, consumed once.
+     */
+    public InventoryImportResult importSeats(long eventId, String eventName, Stream<SeatRow> rows) {
+        long startedAt = System.nanoTime();
+
+        long[] seatIds = transactionTemplate.execute(status -> insertAll(eventId, eventName, rows));
+
+        availabilityIndex.addSeats(eventId, eventName, seatIds);
+        if (properties.engine() == BookingProperties.ReservationEngine.REDIS_SCRIPT) {
+            claimService.warmUp(eventId, Arrays.stream(seatIds).boxed().toList(), List.of());
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Imported {} seats into event {} ({}) in {} ms", seatIds.length, eventId, eventName, elapsedMillis);
+        return new InventoryImportResult(eventId, eventName, seatIds.length,
+                seatIds.length == 0 ? null : seatIds[0],
+                seatIds.length == 0 ? null : seatIds[seatIds.length - 1],
+                elapsedMillis);
+    }
+
+    private long[] insertAll(long eventId, String eventName, Stream<SeatRow> rows) {
+        LongStream.Builder imported = LongStream.builder();
+        List<SeatRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        rows.forEach(row -> {
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                insertBatch(eventId, eventName, batch, imported);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            insertBatch(eventId, eventName, batch, imported);
+        }
+        return imported.build().toArray();
+    }
+
+    private void insertBatch(long eventId, String eventName, List<SeatRow> batch, LongStream.Builder imported) {
+        long[] ids = allocateIds(batch.size());
+
+        jdbcTemplate.batchUpdate(INSERT_SEAT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                SeatRow row = batch.get(i);
+                statement.setLong(1, ids[i]);
+                statement.setLong(2, eventId);
+                statement.setString(3, eventName);
+                statement.setString(4, row.seatNumber());
+                statement.setBigDecimal(5, row.price());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+        for (long id : ids) {
+            imported.add(id);
+        }
+    }
+
+    private long[] allocateIds(int count) {
+        int blocks = (count + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> blockEnds = new ArrayList<>(blocks);
+        while (blockEnds.size() < blocks) {
+            jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class, blocks - blockEnds.size()).stream()
+                    // The sequence's initial value does not own a full block (Hibernate skips it as well)
+                    .filter(blockEnd -> blockEnd >= ID_BLOCK_SIZE)
+                    .forEach(blockEnds::add);
+        }
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            long blockEnd = blockEnds.get(i / ID_BLOCK_SIZE);
+            ids[i] = blockEnd - ID_BLOCK_SIZE + 1 + (i % ID_BLOCK_SIZE);
+        }
+        return ids;
+    }
+}
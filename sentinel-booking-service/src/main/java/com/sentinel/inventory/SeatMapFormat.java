@@ -0,0 +1,87 @@
+package com.sentinel.inventory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Supported seat-map file formats. Both are read lazily, row by row, so file size does not matter.
+ * <ul>
+ *   <li>{@link #CSV}: {@code seat_number,price} per line, optional header line</li>
+ *   <li>{@link #NDJSON}: one {@code {"seatNumber":"A-12","price":150.00}} object per line</li>
+ * </ul>
+ */
+public enum SeatMapFormat {
+
+    CSV("text/csv") {
+        @Override
+        public Stream<SeatRow> read(InputStream in, ObjectMapper objectMapper) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            int[] lineNumber = {0};
+            return reader.lines()
+                    .peek(line -> lineNumber[0]++)
+                    .filter(line -> !line.isBlank() && !(lineNumber[0] == 1 && line.startsWith("seat_number")))
+                    .map(line -> parseCsv(line, lineNumber[0]));
+        }
+    },
+
+    NDJSON("application/x-ndjson") {
+        @Override
+        public Stream<SeatRow> read(InputStream in, ObjectMapper objectMapper) {
+            try {
+                Iterator<SeatRow> rows = objectMapper.readerFor(SeatRow.class).readValues(in);
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, 0), false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private final String mediaType;
+
+    SeatMapFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public abstract Stream<SeatRow> read(InputStream in, ObjectMapper objectMapper);
+
+    /**
+     * Resolves a format from a request content type or a file name.
+     */
+    public static SeatMapFormat detect(String contentTypeOrFileName) {
+        String value = contentTypeOrFileName == null ? "" : contentTypeOrFileName.toLowerCase();
+        if (value.startsWith(NDJSON.mediaType) || value.endsWith(".ndjson") || value.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        if (value.startsWith(CSV.mediaType) || value.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported seat-map format: " + contentTypeOrFileName);
+    }
+
+    private static SeatRow parseCsv(String line, int lineNumber) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 2 || fields[0].isBlank()) {
+            throw new IllegalArgumentException("Malformed seat-map line " + lineNumber + ": " + line);
+        }
+        try {
+            return new SeatRow(fields[0].trim(), new BigDecimal(fields[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price on seat-map line " + lineNumber + ": " + line);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sentinel.inventory;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a seat-map file.
+ *
+ * @param seatNumber Venue label of the seat, e.g. {@code A-12}.
+ * @param price      Face value of the seat.
+ */
+public record SeatRow(
+        String seatNumber,
+        BigDecimal price
+) {}
@@ -0,0 +1,117 @@
+package com.sentinel.metrics;
+
+import com.sentinel.config.BookingProperties;
+import com.sentinel.exception.WaitingRoomFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the booking hot path.
+ * <p>
+ * Exposed through {@code /actuator/prometheus} as:
+ * <ul>
+ *   <li>{@code sentinel_booking_reservations_total{result,kind,engine}} - outcome counter</li>
+ *   <li>{@code sentinel_booking_reservation_duration_seconds} - end-to-end latency histogram per result</li>
+ *   <li>{@code sentinel_booking_phase_seconds{phase}} - admission wait, lock wait, Redis claim, DB transaction</li>
+ *   <li>{@code sentinel_booking_inflight} - reservation attempts currently executing</li>
+ * </ul>
+ * Meters are registered on first use and kept in maps, so recording an attempt costs a map lookup rather
+ * than a builder and a registry lookup. Producer-side meters live in {@code BookingEventProducer}.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String PHASE_ADMISSION = "admission_wait";
+    public static final String PHASE_LOCK = "lock_wait";
+    public static final String PHASE_REDIS = "redis_claim";
+    public static final String PHASE_TRANSACTION = "transaction";
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final String engine;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, Map<String, Counter>> reservationsByKind = new ConcurrentHashMap<>();
+    private final Map<String, Timer> durationsByResult = new ConcurrentHashMap<>();
+    private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry registry, BookingProperties properties) {
+        this.registry = registry;
+        this.engine = properties.engine().name();
+        Gauge.builder("sentinel.booking.inflight", inFlight, AtomicInteger::get)
+                .description("Reservation attempts currently executing")
+                .register(registry);
+    }
+
+    /**
+     * Times a complete reservation attempt and counts its outcome.
+     *
+     * @param kind {@code single}, {@code group} or {@code confirm} (of a seat hold).
+     */
+    public String recordReservation(String kind, Supplier<String> attempt) {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String result = "ERROR";
+        try {
+            result = normalize(attempt.get());
+            return result;
+        } catch (WaitingRoomFullException e) {
+            result = "REJECTED";
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            reservations(kind, result).increment();
+            durationsByResult.computeIfAbsent(result,
+                            r -> histogram("sentinel.booking.reservation.duration", "result", r))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public <T> T timePhase(String phase, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            recordPhase(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, p -> histogram("sentinel.booking.phase", "phase", p))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter reservations(String kind, String result) {
+        return reservationsByKind.computeIfAbsent(kind, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(result, r -> Counter.builder("sentinel.booking.reservations")
+                        .tags("result", r, "kind", kind, "engine", engine)
+                        .register(registry));
+    }
+
+    private Timer histogram(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tags(tagKey, tagValue, "engine", engine)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+
+    private static String normalize(String result) {
+        return switch (result) {
+            case "SUCCESS", "ALREADY_RESERVED", "HELD", "HOLD_EXPIRED", "SYSTEM_BUSY" -> result;
+            default -> "ERROR";
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.sentinel.model;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Transactional outbox row for a {@link TicketSoldEvent}.
+ * <p>
+ * Written in the same transaction as the seat update and removed by the relay once the broker
+ * acknowledged it. A sequence id (instead of IDENTITY) lets Hibernate batch group-booking inserts.
+ */
+@Entity
+@Table(name = "ticketing_outbox")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticketing_outbox_seq")
+    @SequenceGenerator(name = "ticketing_outbox_seq", sequenceName = "ticketing_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID eventId;
+
+    @Column(nullable = false)
+    private Long seatId;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    public static OutboxEvent from(TicketSoldEvent event) {
+        return new OutboxEvent(null, event.eventId(), event.seatId(), event.status(), event.timestamp());
+    }
+
+    public TicketSoldEvent toEvent() {
+        return new TicketSoldEvent(eventId, seatId, status, occurredAt);
+    }
+}
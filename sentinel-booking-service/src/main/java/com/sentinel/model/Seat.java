@@ -2,20 +2,37 @@ package com.sentinel.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.PartitionKey;
 import java.math.BigDecimal;
 
+/**
+ * One sellable seat. {@code eventId} is the inventory partition key: every per-event query filters on it
+ * (partition pruning + the composite index below), and it namespaces the seat's Redis keys.
+ * In Postgres the table is hash-partitioned by {@code event_id}, see {@code infrastructure/sentinel/init};
+ * {@link PartitionKey} makes Hibernate add it to the WHERE clause of entity updates, so they hit one partition.
+ */
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", indexes = {
+        @Index(name = "idx_seats_event_available", columnList = "event_id, is_reserved, id"),
+        @Index(name = "idx_seats_event_name", columnList = "event_name")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Seat {
 
+    // Sequence ids (unlike IDENTITY) let Hibernate and the bulk importer batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seats_seq")
+    @SequenceGenerator(name = "seats_seq", sequenceName = "seats_seq", allocationSize = 50)
     private Long id;
 
     private String seatNumber;
+
+    @PartitionKey
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
     private String eventName;
     private BigDecimal price;
 
@@ -0,0 +1,66 @@
+package com.sentinel.outbox;
+
+import com.sentinel.config.BookingProperties;
+import com.sentinel.model.OutboxEvent;
+import com.sentinel.producer.BookingEventProducer;
+import com.sentinel.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the ticketing outbox to Kafka in large batches.
+ * <p>
+ * A batch is locked, handed to the producer in one go (so records share producer batches and
+ * compression), and deleted only after every record was acknowledged. If any send fails the
+ * transaction rolls back and the rows are retried on the next cycle: delivery is at-least-once,
+ * consumers de-duplicate on {@code eventId}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final BookingEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties properties;
+
+    @Scheduled(fixedDelayString = "${sentinel.booking.outbox.poll-interval:100ms}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == properties.outbox().batchSize());
+        } catch (Exception e) {
+            log.error("Outbox relay cycle failed, pending events will be retried: {}", e.getMessage(), e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.lockNextBatch(properties.outbox().batchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            eventProducer.emitAll(batch.stream().map(OutboxEvent::toEvent).toList())
+                    .get(properties.outbox().sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox batch", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox batch not acknowledged by the broker", e);
+        }
+
+        outboxRepository.deleteByIds(batch.stream().map(OutboxEvent::getId).toList());
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+}
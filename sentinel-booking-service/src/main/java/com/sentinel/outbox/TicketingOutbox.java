@@ -0,0 +1,34 @@
+package com.sentinel.outbox;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.model.OutboxEvent;
+import com.sentinel.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Write side of the transactional outbox.
+ * <p>
+ * {@link Propagation#MANDATORY} guarantees the events are only ever recorded inside the caller's
+ * seat-update transaction: either both commit or neither does.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketingOutbox {
+
+    private final OutboxEventRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TicketSoldEvent event) {
+        outboxRepository.save(OutboxEvent.from(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<TicketSoldEvent> events) {
+        outboxRepository.saveAll(events.stream().map(OutboxEvent::from).toList());
+    }
+}
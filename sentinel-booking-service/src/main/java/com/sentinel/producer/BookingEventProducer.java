@@ -1,46 +1,71 @@
 package com.sentinel.producer;
 
-import com.sentinel.dto.TicketSoldEvent;
-import lombok.RequiredArgsConstructor;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles the asynchronous emission of booking events to the Kafka Event Backbone.
  * <p>
  * This component decouples the persistence layer from the messaging layer,
  * ensuring that network latency in the broker does not block the HTTP response.
+ * It is driven by the outbox relay, never from the request thread.
+ * <p>
+ * Publishes {@code sentinel_booking_producer_pending} (sends awaiting a broker ack) and
+ * {@code sentinel_booking_producer_ack_seconds{outcome}} (send-to-ack latency).
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class BookingEventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final AtomicInteger pendingSends = new AtomicInteger();
+    private final Timer ackSuccess;
+    private final Timer ackFailure;
 
     // Topic logic should ideally be externalized, but constant is acceptable for single-purpose producers
     private static final String TOPIC_TICKETING = "sentinel.public.ticketing";
 
+    public BookingEventProducer(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry registry) {
+        this.kafkaTemplate = kafkaTemplate;
+        Gauge.builder("sentinel.booking.producer.pending", pendingSends, AtomicInteger::get)
+                .description("TicketSoldEvent sends awaiting a broker acknowledgement")
+                .register(registry);
+        this.ackSuccess = ackTimer(registry, "success");
+        this.ackFailure = ackTimer(registry, "failure");
+    }
+
     /**
      * Publishes a {@link TicketSoldEvent} to the dedicated Kafka topic.
      * Uses a non-blocking callback mechanism.
      *
      * @param event The immutable event payload.
+     * @return Future completed once the broker acknowledged the record.
      */
-    public void emit(TicketSoldEvent event) {
+    public CompletableFuture<SendResult<String, Object>> emit(TicketSoldEvent event) {
         String partitionKey = String.valueOf(event.seatId());
 
+        pendingSends.incrementAndGet();
+        long sentAt = System.nanoTime();
         CompletableFuture<SendResult<String, Object>> future =
                 kafkaTemplate.send(TOPIC_TICKETING, partitionKey, event);
 
         future.whenComplete((result, ex) -> {
+            pendingSends.decrementAndGet();
+            (ex == null ? ackSuccess : ackFailure).record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
             if (ex != null) {
-                // Critical Failure: Event was not acknowledged by the broker.
-                // In a production environment, this should trigger an alert or write to a fallback Outbox table.
+                // Event was not acknowledged by the broker; the outbox row stays and is retried.
                 log.error("Failed to publish TicketSoldEvent for SeatID: {}. Error: {}",
                         event.seatId(), ex.getMessage(), ex);
             } else {
@@ -48,5 +73,25 @@ public class BookingEventProducer {
                         event.seatId(), result.getRecordMetadata().offset());
             }
         });
+        return future;
+    }
+
+    /**
+     * Publishes events back-to-back so the producer can pack them into shared batches.
+     *
+     * @param events The events to publish.
+     * @return Future completed once every record was acknowledged, or failed if any send failed.
+     */
+    public CompletableFuture<Void> emitAll(List<TicketSoldEvent> events) {
+        return CompletableFuture.allOf(events.stream().map(this::emit).toArray(CompletableFuture[]::new));
+    }
+
+    private static Timer ackTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("sentinel.booking.producer.ack")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.sentinel.repository;
+
+import com.sentinel.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claims the oldest pending rows. SKIP LOCKED lets several relay nodes drain the outbox
+     * concurrently without handing the same row to two of them.
+     */
+    @Query(value = "select * from ticketing_outbox order by id limit :batchSize for update skip locked",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("delete from OutboxEvent o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
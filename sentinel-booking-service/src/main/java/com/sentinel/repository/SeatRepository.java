@@ -1,11 +1,112 @@
 package com.sentinel.repository;
 
+import com.sentinel.dto.AvailableSeat;
+import com.sentinel.dto.SeatListing;
+import com.sentinel.dto.SeatState;
 import com.sentinel.model.Seat;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
-    List<Seat> findByIsReservedFalse();
-}
\ No newline at end of file
+    /*
+     * Keyset pagination over free seats: "id > :afterId order by id" stays an index range scan
+     * on the primary key no matter how deep the client pages, unlike OFFSET.
+     */
+    @Query("select new com.sentinel.dto.AvailableSeat(s.id, s.seatNumber, s.eventName, s.price) from Seat s " +
+            "where s.isReserved = false and s.id > :afterId order by s.id")
+    List<AvailableSeat> findAvailableAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.sentinel.dto.AvailableSeat(s.id, s.seatNumber, s.eventName, s.price) from Seat s " +
+            "where s.eventId = :eventId and s.isReserved = false and s.id > :afterId order by s.id")
+    List<AvailableSeat> findAvailableAfter(@Param("eventId") Long eventId,
+                                           @Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.sentinel.dto.SeatListing(s.id, s.seatNumber, s.eventId, s.eventName, s.price, s.isReserved, s.version) " +
+            "from Seat s where s.isReserved = false and s.id > :afterId order by s.id")
+    List<SeatListing> findListingsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select new com.sentinel.dto.SeatListing(s.id, s.seatNumber, s.eventId, s.eventName, s.price, s.isReserved, s.version) " +
+            "from Seat s where s.eventId = :eventId and s.isReserved = false and s.id > :afterId order by s.id")
+    List<SeatListing> findListingsAfter(@Param("eventId") Long eventId, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Cursor-backed stream of free seats. Must be consumed inside a (read-only) transaction,
+     * the JDBC driver then fetches rows in chunks of the configured fetch size.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.sentinel.dto.AvailableSeat(s.id, s.seatNumber, s.eventName, s.price) from Seat s " +
+            "where s.isReserved = false order by s.id")
+    Stream<AvailableSeat> streamAvailable();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.sentinel.dto.AvailableSeat(s.id, s.seatNumber, s.eventName, s.price) from Seat s " +
+            "where s.eventId = :eventId and s.isReserved = false order by s.id")
+    Stream<AvailableSeat> streamAvailable(@Param("eventId") Long eventId);
+
+    @Query("select new com.sentinel.dto.SeatState(s.id, s.eventId, s.eventName, s.isReserved) from Seat s")
+    List<SeatState> findAllSeatStates();
+
+    @Query("select new com.sentinel.dto.SeatState(s.id, s.eventId, s.eventName, s.isReserved) from Seat s " +
+            "where s.eventId = :eventId")
+    List<SeatState> findSeatStatesByEventId(@Param("eventId") Long eventId);
+
+    // Backed by idx_seats_event_name (see Seat); resolves event names this node has not indexed yet
+    @Query("select s.eventId from Seat s where s.eventName = :eventName")
+    List<Long> findEventIdsByEventName(@Param("eventName") String eventName, Limit limit);
+
+    /*
+     * Seats are addressed through the composite key (event_id, id): the event id prunes the lookup to
+     * one partition instead of probing idx_seats_id in every partition.
+     */
+    Optional<Seat> findByEventIdAndId(Long eventId, Long id);
+
+    boolean existsByEventIdAndId(Long eventId, Long id);
+
+    /**
+     * Resolves the event of a seat the caller does not know yet; the only lookup by seat id alone.
+     */
+    @Query("select s.eventId from Seat s where s.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
+    @Query("select s.id from Seat s")
+    List<Long> findAllIds();
+
+    @Query("select s.id from Seat s where s.isReserved = true")
+    List<Long> findReservedIds();
+
+    /**
+     * Guarded single-row claim: flips the flag only if the seat is still free.
+     * The affected-row count (1 or 0) is the reservation outcome, no entity is loaded.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Seat s set s.isReserved = true, s.version = s.version + 1 " +
+            "where s.eventId = :eventId and s.id = :id and s.isReserved = false")
+    int claimIfAvailable(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    /**
+     * Bulk, idempotent reservation flag flip of seats of one event, used by group bookings and the
+     * write-behind worker. Seats already reserved are skipped, so replaying the same batch is harmless.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Seat s set s.isReserved = true, s.version = s.version + 1 " +
+            "where s.eventId = :eventId and s.id in :ids and s.isReserved = false")
+    int markReserved(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids);
+}
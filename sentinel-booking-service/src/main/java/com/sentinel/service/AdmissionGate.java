@@ -0,0 +1,122 @@
+package com.sentinel.service;
+
+import com.sentinel.config.BookingProperties;
+import com.sentinel.dto.QueueStatus;
+import com.sentinel.exception.WaitingRoomFullException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event waiting room in front of the reservation engines, keyed by event id.
+ * <p>
+ * At most {@code maxConcurrent} attempts per event run at a time. Excess requests wait in a fair FIFO
+ * queue for up to {@code maxWait}; once the queue is {@code maxQueueDepth} deep, new arrivals are shed
+ * immediately with {@link WaitingRoomFullException} instead of piling up on Redis locks. Throughput then
+ * stays at what the engine can actually sustain, and the measured service time yields the queue ETA.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionGate {
+
+    private final BookingProperties properties;
+
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Waits for admission to the given event.
+     *
+     * @return A ticket to close when the attempt finishes, or {@code null} if the wait timed out.
+     * @throws WaitingRoomFullException if the queue is already at capacity.
+     */
+    public Ticket enter(long eventId) throws InterruptedException {
+        BookingProperties.Admission settings = properties.admission();
+        if (!settings.enabled()) {
+            return Ticket.UNGATED;
+        }
+
+        WaitingRoom room = rooms.computeIfAbsent(eventId, k -> new WaitingRoom(settings.maxConcurrent()));
+        // The timed variant honours fairness: a free permit is not taken while others are queued for it
+        if (room.permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+            return room.admit();
+        }
+
+        int position = room.queued.incrementAndGet();
+        try {
+            if (position > settings.maxQueueDepth()) {
+                log.warn("Waiting room full for event: {} (depth {})", eventId, position - 1);
+                throw new WaitingRoomFullException(eventId, position - 1, room.estimatedWait(position));
+            }
+            if (!room.permits.tryAcquire(settings.maxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            return room.admit();
+        } finally {
+            room.queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param eventId   The event whose waiting room is inspected.
+     * @param eventName Display name echoed in the status.
+     */
+    public QueueStatus status(long eventId, String eventName) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return new QueueStatus(eventName, 0, 0, 0);
+        }
+        int queued = room.queued.get();
+        return new QueueStatus(eventName, room.maxConcurrent - room.permits.availablePermits(), queued,
+                room.estimatedWait(queued + 1).toMillis());
+    }
+
+    /**
+     * Admission handle; closing it frees the slot and feeds the service-time estimate.
+     */
+    public interface Ticket extends AutoCloseable {
+
+        Ticket UNGATED = () -> { };
+
+        @Override
+        void close();
+    }
+
+    private static final class WaitingRoom {
+
+        private static final long INITIAL_SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+        private final int maxConcurrent;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        // Exponentially weighted moving average of the admitted attempt duration
+        private final AtomicLong avgServiceNanos = new AtomicLong(INITIAL_SERVICE_NANOS);
+
+        WaitingRoom(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        Ticket admit() {
+            long start = System.nanoTime();
+            return () -> {
+                permits.release();
+                long sample = System.nanoTime() - start;
+                avgServiceNanos.getAndUpdate(avg -> avg + (sample - avg) / 8);
+            };
+        }
+
+        Duration estimatedWait(int position) {
+            long waves = (position + maxConcurrent - 1) / maxConcurrent;
+            return Duration.ofNanos(waves * avgServiceNanos.get());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.sentinel.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sentinel.dto.AvailableSeat;
+import com.sentinel.dto.AvailableSeatPage;
+import com.sentinel.dto.SeatListing;
+import com.sentinel.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Listing of free seats for large venues.
+ * <p>
+ * Every access mode uses lightweight projections instead of entities: keyset pages of
+ * {@link AvailableSeat} for interactive clients, a cursor-backed stream that serializes seat by seat,
+ * so heap usage is independent of the venue size, and the plain list behind {@code /available}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityQueryService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    // One cursor fetch (see SeatRepository#streamAvailable) per network flush
+    static final int FLUSH_EVERY_ROWS = 500;
+
+    private final SeatRepository seatRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final ObjectMapper objectMapper;
+    private ObjectWriter seatWriter;
+
+    @PostConstruct
+    void createSeatWriter() {
+        // ObjectMapper.writeValue(JsonGenerator, ..) would flush after every seat
+        seatWriter = objectMapper.writerFor(AvailableSeat.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param eventName Optional event filter; an unknown event yields an empty page.
+     * @param afterId   Cursor: only seats with a greater id are returned.
+     * @param size      Requested page size, capped at {@link #MAX_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public AvailableSeatPage page(String eventName, long afterId, int size) {
+        Limit limit = Limit.of(Math.clamp(size, 1, MAX_PAGE_SIZE));
+        List<AvailableSeat> seats = eventName == null
+                ? seatRepository.findAvailableAfter(afterId, limit)
+                : availabilityIndex.eventIdNamed(eventName)
+                        .map(eventId -> seatRepository.findAvailableAfter(eventId, afterId, limit))
+                        .orElse(List.of());
+
+        Long nextCursor = seats.size() < limit.max() ? null : seats.getLast().id();
+        return new AvailableSeatPage(seats, nextCursor);
+    }
+
+    /**
+     * All free seats in the shape of the seat entity, read in keyset pages of {@link #MAX_PAGE_SIZE}
+     * projections so no entity is loaded and every query stays a short index range scan.
+     *
+     * @param eventName Optional event filter; an unknown event yields an empty list.
+     */
+    @Transactional(readOnly = true)
+    public List<SeatListing> listAvailable(String eventName) {
+        Optional<Long> eventId = eventName == null ? Optional.empty() : availabilityIndex.eventIdNamed(eventName);
+        if (eventName != null && eventId.isEmpty()) {
+            return List.of();
+        }
+        Limit limit = Limit.of(MAX_PAGE_SIZE);
+        List<SeatListing> seats = new ArrayList<>();
+        long afterId = 0;
+        List<SeatListing> page;
+        do {
+            page = eventId.isPresent()
+                    ? seatRepository.findListingsAfter(eventId.get(), afterId, limit)
+                    : seatRepository.findListingsAfter(afterId, limit);
+            seats.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.getLast().id();
+        } while (page.size() == limit.max());
+        return seats;
+    }
+
+    /**
+     * Writes all free seats as one JSON array directly to the response stream.
+     * Rows are pulled from a server-side cursor and flushed every {@link #FLUSH_EVERY_ROWS} seats.
+     *
+     * @param eventName Optional event filter.
+     * @param out       The target stream (typically the HTTP response body).
+     */
+    @Transactional(readOnly = true)
+    public void streamAvailable(String eventName, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(out));
+             Stream<AvailableSeat> seats = eventName == null
+                     ? seatRepository.streamAvailable()
+                     : availabilityIndex.eventIdNamed(eventName)
+                             .map(seatRepository::streamAvailable)
+                             .orElseGet(Stream::empty)) {
+
+            generator.writeStartArray();
+            int written = 0;
+            for (Iterator<AvailableSeat> it = seats.iterator(); it.hasNext(); ) {
+                seatWriter.writeValue(generator, it.next());
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
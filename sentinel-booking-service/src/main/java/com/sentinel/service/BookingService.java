@@ -1,18 +1,31 @@
 package com.sentinel.service;
 
-import com.sentinel.dto.TicketSoldEvent;
-import com.sentinel.model.Seat;
-import com.sentinel.producer.BookingEventProducer;
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.config.BookingProperties;
+import com.sentinel.metrics.BookingMetrics;
+import com.sentinel.outbox.TicketingOutbox;
 import com.sentinel.repository.SeatRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Core Service orchestrating the High-Concurrency Booking Flow.
@@ -20,6 +33,8 @@ import java.util.concurrent.TimeUnit;
  * Implements a Distributed Locking mechanism (Redisson) to prevent Race Conditions
  * during Flash Sales. Transaction boundaries are strictly managed to minimize
  * Connection Pool contention.
+ * <p>
+ * The strategy is selected through {@code sentinel.booking.engine}; see {@link BookingProperties.ReservationEngine}.
  */
 @Slf4j
 @Service
@@ -28,7 +43,18 @@ public class BookingService {
 
     private final SeatRepository seatRepository;
     private final RedissonClient redissonClient;
-    private final BookingEventProducer eventProducer;
+    private final TicketingOutbox outbox;
+    private final RedisSeatClaimService claimService;
+    private final BookingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final AdmissionGate admissionGate;
+    private final SeatRequestCoalescer coalescer;
+    private final SoldSeatCache soldSeatCache;
+    private final SeatHoldService seatHolds;
+    private final ObjectProvider<SequencedReservationPipeline> sequencer;
+    private final BookingMetrics metrics;
+    private final ExecutorService asyncReservations = Executors.newVirtualThreadPerTaskExecutor();
 
     private static final long LOCK_WAIT_TIME = 5;
     private static final long LOCK_LEASE_TIME = 10;
@@ -40,12 +66,327 @@ public class BookingService {
      * @return Operation result status.
      */
     public String reserveSeat(Long seatId) {
-        final String lockKey = "lock:seat:" + seatId;
-        final RLock lock = redissonClient.getLock(lockKey);
+        return metrics.recordReservation("single", () -> reserveSingle(seatId));
+    }
+
+    /**
+     * Accepts a reservation without holding the caller: the attempt runs exactly like
+     * {@link #reserveSeat(Long)} on a virtual thread and the returned future carries its outcome.
+     * A request rejected by a full waiting room completes with SYSTEM_BUSY.
+     *
+     * @param seatId The ID of the seat to reserve.
+     * @return Future operation result status.
+     */
+    public CompletableFuture<String> reserveSeatAsync(Long seatId) {
+        return CompletableFuture.supplyAsync(() -> reserveSeat(seatId), asyncReservations)
+                .exceptionally(e -> {
+                    log.warn("Asynchronous reservation rejected for SeatID: {} ({})", seatId, e.getMessage());
+                    return "SYSTEM_BUSY";
+                });
+    }
+
+    private String reserveSingle(Long seatId) {
+        // Retries on sold seats are the bulk of sell-out traffic: answer them before any lock or JDBC call
+        if (soldSeatCache.isSold(seatId)) {
+            return "ALREADY_RESERVED";
+        }
+        Long eventId = resolveEventId(seatId);
+        if (eventId == null) {
+            return "ERROR";
+        }
+        // Concurrent requests for the same seat on this node share one attempt; held seats are refused by the claim itself
+        return coalescer.execute(seatId, () -> admitted(eventId, seatId, () -> claim(eventId, seatId, null)));
+    }
+
+    /**
+     * Completes a checkout started with {@link SeatHoldService#hold(Long)}: the seat is sold through
+     * the configured engine once the token is found in the seat's hold key.
+     *
+     * @param seatId    The held seat.
+     * @param holdToken The token returned when the hold was placed.
+     * @return Operation result status, {@code HOLD_EXPIRED} if the token no longer holds the seat.
+     */
+    public String confirmHold(Long seatId, UUID holdToken) {
+        return metrics.recordReservation("confirm", () -> {
+            Long eventId = resolveEventId(seatId);
+            if (eventId == null) {
+                return "ERROR";
+            }
+            String result = admitted(eventId, seatId, () -> claim(eventId, seatId, holdToken));
+            if ("SUCCESS".equals(result) || "ALREADY_RESERVED".equals(result)) {
+                seatHolds.complete(seatId);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @param holdToken The hold the seat is sold through, {@code null} for a direct reservation.
+     */
+    private String claim(long eventId, Long seatId, UUID holdToken) {
+        return switch (properties.engine()) {
+            case LOCK -> seatHolds.guardSale(eventId, seatId, holdToken, () -> reserveWithLock(eventId, seatId));
+            case CONDITIONAL_UPDATE -> seatHolds.guardSale(eventId, seatId, holdToken,
+                    () -> reserveWithConditionalUpdate(eventId, seatId));
+            // The claim script reads the hold key itself
+            case REDIS_SCRIPT -> reserveWithScript(eventId, seatId, holdToken);
+            case SEQUENCED -> seatHolds.guardSale(eventId, seatId, holdToken, () -> reserveSequenced(eventId, seatId));
+        };
+    }
+
+    /**
+     * Reserves a group of seats atomically: either every seat is reserved or none is.
+     * <p>
+     * Seat ids are de-duplicated and sorted, so concurrent group bookings always contend in the same
+     * order and cannot deadlock. The whole group is persisted with one batched UPDATE per event and the
+     * resulting events are written to the outbox in the same transaction.
+     *
+     * @param seatIds The seats to reserve.
+     * @return Operation result status for the group as a whole.
+     */
+    public String reserveSeats(List<Long> seatIds) {
+        return metrics.recordReservation("group", () -> reserveGroup(seatIds));
+    }
+
+    private String reserveGroup(List<Long> seatIds) {
+        List<Long> orderedIds = seatIds.stream().distinct().sorted().toList();
+        if (orderedIds.stream().anyMatch(soldSeatCache::isSold)) {
+            return "ALREADY_RESERVED";
+        }
+        Map<Long, Long> eventIds = new LinkedHashMap<>();
+        for (Long seatId : orderedIds) {
+            Long eventId = resolveEventId(seatId);
+            if (eventId == null) {
+                return "ERROR";
+            }
+            eventIds.put(seatId, eventId);
+        }
+
+        Long firstSeatId = orderedIds.getFirst();
+        return admitted(eventIds.get(firstSeatId), firstSeatId, () -> switch (properties.engine()) {
+            case LOCK -> seatHolds.guardGroupSale(eventIds, () -> reserveGroupWithLock(eventIds));
+            // A group spans partitions, so it cannot go through a single writer: the guarded UPDATE arbitrates
+            case CONDITIONAL_UPDATE, SEQUENCED -> seatHolds.guardGroupSale(eventIds,
+                    () -> reserveGroupWithConditionalUpdate(eventIds));
+            case REDIS_SCRIPT -> reserveGroupWithScript(eventIds);
+        });
+    }
+
+    /**
+     * @return the id of the seat's event, or {@code null} (logged) if the seat does not exist.
+     */
+    private Long resolveEventId(Long seatId) {
+        try {
+            return availabilityIndex.requireEventId(seatId);
+        } catch (IllegalArgumentException e) {
+            log.error("Rejected reservation: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Runs the attempt inside the waiting room of the seat's event.
+     * A request that waited {@code maxWait} without admission gets SYSTEM_BUSY; a full
+     * waiting room rejects with {@link com.sentinel.exception.WaitingRoomFullException}.
+     */
+    private String admitted(long eventId, Long seatId, Supplier<String> attempt) {
+        long queuedAt = System.nanoTime();
+        try (AdmissionGate.Ticket ticket = admissionGate.enter(eventId)) {
+            metrics.recordPhase(BookingMetrics.PHASE_ADMISSION, System.nanoTime() - queuedAt);
+            if (ticket == null) {
+                log.warn("Admission timeout for SeatID: {} (event: {})", seatId, eventId);
+                return "SYSTEM_BUSY";
+            }
+            return attempt.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Thread interrupted while queued for SeatID: {}", seatId);
+            return "INTERRUPTED";
+        }
+    }
+
+    /**
+     * @param eventIds Seat id to event id, in lock order.
+     */
+    private String reserveGroupWithLock(Map<Long, Long> eventIds) {
+        List<Long> seatIds = List.copyOf(eventIds.keySet());
+        RLock[] locks = eventIds.entrySet().stream()
+                .map(seat -> redissonClient.getLock(InventoryKeys.seatLock(seat.getValue(), seat.getKey())))
+                .toArray(RLock[]::new);
+        RLock groupLock = redissonClient.getMultiLock(locks);
+
+        try {
+            long lockRequestedAt = System.nanoTime();
+            boolean isLocked = groupLock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS);
+            metrics.recordPhase(BookingMetrics.PHASE_LOCK, System.nanoTime() - lockRequestedAt);
+
+            if (!isLocked) {
+                log.warn("Acquisition timeout for SeatIDs: {}", seatIds);
+                return "SYSTEM_BUSY";
+            }
+            try {
+                return reserveGroupWithConditionalUpdate(eventIds);
+            } finally {
+                groupLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Thread interrupted during reservation for SeatIDs: {}", seatIds);
+            return "INTERRUPTED";
+        } catch (Exception e) {
+            log.error("Unexpected error reserving SeatIDs: {}", seatIds, e);
+            return "ERROR";
+        }
+    }
+
+    /**
+     * One batched UPDATE per event inside one transaction. If fewer rows than requested were flipped,
+     * at least one of the seats is already sold and the whole group is rolled back.
+     *
+     * @param eventIds Seat id to event id; every seat was resolved, so a missing row means a taken seat.
+     */
+    private String reserveGroupWithConditionalUpdate(Map<Long, Long> eventIds) {
+        List<Long> seatIds = List.copyOf(eventIds.keySet());
+        Map<Long, List<Long>> seatIdsByEvent = new LinkedHashMap<>();
+        eventIds.forEach((seatId, eventId) -> seatIdsByEvent.computeIfAbsent(eventId, k -> new ArrayList<>()).add(seatId));
+        try {
+            Boolean reserved = inTransaction(status -> {
+                int updated = 0;
+                for (Map.Entry<Long, List<Long>> event : seatIdsByEvent.entrySet()) {
+                    updated += seatRepository.markReserved(event.getKey(), event.getValue());
+                }
+                if (updated == seatIds.size()) {
+                    outbox.appendAll(seatIds.stream().map(TicketSoldEvent::create).toList());
+                    return true;
+                }
+                status.setRollbackOnly();
+                return false;
+            });
+
+            if (Boolean.TRUE.equals(reserved)) {
+                log.info("Group reservation persisted for SeatIDs: {}", seatIds);
+                seatIds.forEach(this::onReserved);
+                return "SUCCESS";
+            }
+            return "ALREADY_RESERVED";
+        } catch (Exception e) {
+            log.error("Unexpected error reserving SeatIDs: {}", seatIds, e);
+            return "ERROR";
+        }
+    }
+
+    /**
+     * One script over the keys of the group's event. Keys of different events live in different Redis
+     * Cluster slots, so a group spanning events cannot be claimed atomically and is rejected.
+     */
+    private String reserveGroupWithScript(Map<Long, Long> seatEventIds) {
+        List<Long> seatIds = List.copyOf(seatEventIds.keySet());
+        if (seatEventIds.values().stream().distinct().count() > 1) {
+            log.warn("Rejected group reservation spanning events: {}", seatEventIds);
+            return "MIXED_EVENTS";
+        }
+        long eventId = seatEventIds.values().iterator().next();
+        try {
+            Map<Long, UUID> ticketEventIds = new LinkedHashMap<>();
+            seatIds.forEach(seatId -> ticketEventIds.put(seatId, UUID.randomUUID()));
+
+            String result = metrics.timePhase(BookingMetrics.PHASE_REDIS,
+                    () -> claimService.claimAll(eventId, ticketEventIds));
+            if ("SUCCESS".equals(result)) {
+                seatIds.forEach(this::onReserved);
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Unexpected error claiming SeatIDs: {}", seatIds, e);
+            return "ERROR";
+        }
+    }
+
+    /**
+     * Lock-free path: the database arbitrates through {@code UPDATE ... WHERE is_reserved = false}.
+     * The outcome comes from the affected-row count; a zero count for a seat not known as sold pays for
+     * one existence query, to tell a taken seat from an unknown one.
+     */
+    private String reserveWithConditionalUpdate(long eventId, Long seatId) {
+        try {
+            Boolean claimed = inTransaction(status -> {
+                if (seatRepository.claimIfAvailable(eventId, seatId) == 1) {
+                    outbox.append(TicketSoldEvent.create(seatId));
+                    return true;
+                }
+                return false;
+            });
+
+            if (Boolean.TRUE.equals(claimed)) {
+                log.info("Reservation persisted for SeatID: {}", seatId);
+                onReserved(seatId);
+                return "SUCCESS";
+            }
+            // A seat known as sold needs no query; otherwise a scalar existence probe, no entity is loaded
+            if (!availabilityIndex.isSold(seatId) && !seatRepository.existsByEventIdAndId(eventId, seatId)) {
+                throw new IllegalArgumentException("Seat ID not found: " + seatId);
+            }
+            onReserved(seatId);
+            return "ALREADY_RESERVED";
+        } catch (Exception e) {
+            log.error("Unexpected error reserving SeatID: {}", seatId, e);
+            return "ERROR";
+        }
+    }
+
+    /**
+     * Flash-sale path: a single Redis script claims the seat and journals the claim.
+     * Postgres and the outbox are updated asynchronously by {@link SeatWriteBehindWorker},
+     * which carries the event id generated here through to the published event.
+     */
+    private String reserveWithScript(long eventId, Long seatId, UUID holdToken) {
+        try {
+            UUID ticketEventId = UUID.randomUUID();
+            String result = metrics.timePhase(BookingMetrics.PHASE_REDIS,
+                    () -> claimService.claim(eventId, seatId, ticketEventId, holdToken));
+            if ("SUCCESS".equals(result) || "ALREADY_RESERVED".equals(result)) {
+                onReserved(seatId);
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Unexpected error claiming SeatID: {}", seatId, e);
+            return "ERROR";
+        }
+    }
+
+    /**
+     * Single-writer path: the request is queued on the seat's partition of {@link SequencedReservationPipeline}
+     * and this thread only waits for the writer's batch to commit.
+     */
+    private String reserveSequenced(long eventId, Long seatId) {
+        try {
+            String result = sequencer.getObject().submit(eventId, seatId)
+                    .get(properties.sequencer().resultTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if ("SUCCESS".equals(result) || "ALREADY_RESERVED".equals(result)) {
+                onReserved(seatId);
+            }
+            return result;
+        } catch (TimeoutException e) {
+            log.warn("Sequencer timeout for SeatID: {}", seatId);
+            return "SYSTEM_BUSY";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Thread interrupted during reservation for SeatID: {}", seatId);
+            return "INTERRUPTED";
+        } catch (ExecutionException e) {
+            log.error("Unexpected error reserving SeatID: {}", seatId, e.getCause());
+            return "ERROR";
+        }
+    }
+
+    private String reserveWithLock(long eventId, Long seatId) {
+        final RLock lock = redissonClient.getLock(InventoryKeys.seatLock(eventId, seatId));
 
         try {
             // Attempt to acquire distributed lock
+            long lockRequestedAt = System.nanoTime();
             boolean isLocked = lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS);
+            metrics.recordPhase(BookingMetrics.PHASE_LOCK, System.nanoTime() - lockRequestedAt);
 
             if (!isLocked) {
                 log.warn("Acquisition timeout for SeatID: {}", seatId);
@@ -53,17 +394,13 @@ public class BookingService {
             }
 
             try {
-                // Execute Transactional Business Logic
-                boolean success = executeReservationTransaction(seatId);
-
-                if (success) {
-                    // Emit event ONLY if transaction committed successfully.
-                    // Done asynchronously to avoid blocking the return.
-                    eventProducer.emit(TicketSoldEvent.create(seatId));
-                    return "SUCCESS";
-                } else {
-                    return "ALREADY_RESERVED";
-                }
+                // Execute Transactional Business Logic (seat update + outbox row commit together)
+                boolean success = Boolean.TRUE.equals(
+                        inTransaction(status -> executeReservationTransaction(eventId, seatId)));
+
+                // Either way the seat is now sold
+                onReserved(seatId);
+                return success ? "SUCCESS" : "ALREADY_RESERVED";
             } finally {
                 if (lock.isHeldByCurrentThread()) {
                     lock.unlock();
@@ -81,19 +418,31 @@ public class BookingService {
     }
 
     /**
-     * Isolated transaction to persist the reservation state.
-     * Marked as REQUIRES_NEW to ensure a fresh persistence context if needed,
-     * though REQUIRED is usually sufficient.
+     * Propagates a sold seat to the node-local read structures and the shared sold-seat bitmap.
+     */
+    private void onReserved(Long seatId) {
+        availabilityIndex.markReserved(seatId);
+        soldSeatCache.recordSold(seatId);
+    }
+
+    private <T> T inTransaction(TransactionCallback<T> callback) {
+        return metrics.timePhase(BookingMetrics.PHASE_TRANSACTION, () -> transactionTemplate.execute(callback));
+    }
+
+    /**
+     * Persists the reservation state and its outbox event.
+     * Runs inside the {@link TransactionTemplate} opened by the caller: being a self-invocation,
+     * a {@code @Transactional} annotation here would be bypassed by the Spring proxy.
      */
-    @Transactional(propagation = Propagation.REQUIRED)
-    protected boolean executeReservationTransaction(Long seatId) {
-        return seatRepository.findById(seatId)
+    protected boolean executeReservationTransaction(long eventId, Long seatId) {
+        return seatRepository.findByEventIdAndId(eventId, seatId)
                 .map(seat -> {
                     if (seat.isReserved()) {
                         return false;
                     }
                     seat.setReserved(true);
                     seatRepository.save(seat);
+                    outbox.append(TicketSoldEvent.create(seatId));
                     log.info("Reservation persisted for SeatID: {}", seatId);
                     return true;
                 })
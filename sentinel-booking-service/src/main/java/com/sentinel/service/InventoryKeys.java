@@ -0,0 +1,59 @@
+package com.sentinel.service;
+
+/**
+ * Redis key layout of the event-scoped seat inventory.
+ * <p>
+ * Every per-event key embeds the event id as a hash tag ({@code {event:42}}). Redis Cluster hashes only
+ * the tagged part, so all keys of one event share a slot (multi-locks and scripts over them stay
+ * single-slot) while different events spread across shards: one hot on-sale loads one shard.
+ * {@link #CLAIM_EVENTS} is the only key shared by all events and is never used inside a script.
+ */
+public final class InventoryKeys {
+
+    /** Ids of the events that have REDIS_SCRIPT claim keys, drained by the write-behind worker. */
+    public static final String CLAIM_EVENTS = "seats:claim-events";
+
+    private InventoryKeys() {
+    }
+
+    public static String eventTag(long eventId) {
+        return "{event:" + eventId + "}";
+    }
+
+    public static String seatLock(long eventId, long seatId) {
+        return "lock:" + eventTag(eventId) + ":seat:" + seatId;
+    }
+
+    public static String seatHold(long eventId, long seatId) {
+        return "hold:" + eventTag(eventId) + ":seat:" + seatId;
+    }
+
+    /** Seats sold through the REDIS_SCRIPT engine (or before it was warmed). */
+    public static String claimedSeats(long eventId) {
+        return "seats:" + eventTag(eventId) + ":claimed";
+    }
+
+    /** Every seat id of the event, so that claims of unknown seats are rejected. */
+    public static String knownSeats(long eventId) {
+        return "seats:" + eventTag(eventId) + ":inventory";
+    }
+
+    /** Write-behind journal of the event's claims. */
+    public static String claimStream(long eventId) {
+        return "seats:" + eventTag(eventId) + ":claims";
+    }
+
+    /** Claims the write-behind worker gave up on, kept for inspection and manual replay. */
+    public static String deadClaims(long eventId) {
+        return claimStream(eventId) + ":dead";
+    }
+
+    /** Bitmap of sold seats, one bit per seat ordinal within the event. */
+    public static String soldSeats(long eventId) {
+        return "seats:" + eventTag(eventId) + ":sold-ordinals";
+    }
+
+    public static String soldSeatsStaging(long eventId) {
+        return soldSeats(eventId) + ":staging";
+    }
+}
@@ -0,0 +1,222 @@
+package com.sentinel.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Single round-trip seat claim executed atomically inside Redis.
+ * <p>
+ * The Lua script checks the claimed-seat set and the seat's hold key, marks the seat and appends a claim
+ * record to the write-behind stream in one server-side step. No lock is held and no JDBC call is made on
+ * the request path; Postgres is brought up to date by {@link SeatWriteBehindWorker}. Holds of this engine
+ * are placed by a script as well, so a seat can be neither held once sold nor sold under a foreign hold.
+ * <p>
+ * The claimed-seat set, the known-seat set and the claim stream exist once per event and, like the hold
+ * keys, carry the event's hash tag (see {@link InventoryKeys}): every script touches a single event and
+ * therefore a single Redis Cluster slot. The events that have claim keys are listed in
+ * {@link InventoryKeys#CLAIM_EVENTS}, which is only written outside the scripts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisSeatClaimService {
+
+    private static final long CLAIMED = 1;
+    private static final long TAKEN = 0;
+    private static final long UNKNOWN = -1;
+    private static final long HELD = -2;
+    private static final long HOLD_LOST = -3;
+
+    /*
+     * KEYS[1] = claimed seat set, KEYS[2] = write-behind stream, KEYS[3] = known seat set, KEYS[4] = hold key of the seat
+     * ARGV[1] = seatId, ARGV[2] = eventId, ARGV[3] = epoch millis, ARGV[4] = hold token, empty for a direct reservation
+     * Returns 1 when the seat was claimed by this call, 0 when it was already taken, -1 for unknown seats,
+     * -2 when another customer holds it and -3 when the given token no longer holds it.
+     */
+    private static final String CLAIM_SCRIPT = """
+            if redis.call('SISMEMBER', KEYS[3], ARGV[1]) == 0 then
+                return -1
+            end
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+                return 0
+            end
+            local holder = redis.call('GET', KEYS[4])
+            if ARGV[4] ~= '' and holder ~= ARGV[4] then
+                return -3
+            end
+            if ARGV[4] == '' and holder then
+                return -2
+            end
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('XADD', KEYS[2], '*', 'seatId', ARGV[1], 'eventId', ARGV[2], 'ts', ARGV[3])
+            if holder then
+                redis.call('DEL', KEYS[4])
+            end
+            return 1
+            """;
+
+    /*
+     * KEYS[1..3] as above, followed by the hold key of every seat in argument order; all of one event.
+     * ARGV[1] = epoch millis, followed by (seatId, eventId) pairs.
+     * All seats are validated before any is claimed, so a group claim is all-or-nothing.
+     */
+    private static final String GROUP_CLAIM_SCRIPT = """
+            local n = (#ARGV - 1) / 2
+            for i = 1, n do
+                local seat = ARGV[2 * i]
+                if redis.call('SISMEMBER', KEYS[3], seat) == 0 then
+                    return -1
+                end
+                if redis.call('SISMEMBER', KEYS[1], seat) == 1 then
+                    return 0
+                end
+                if redis.call('EXISTS', KEYS[3 + i]) == 1 then
+                    return -2
+                end
+            end
+            for i = 1, n do
+                redis.call('SADD', KEYS[1], ARGV[2 * i])
+                redis.call('XADD', KEYS[2], '*', 'seatId', ARGV[2 * i], 'eventId', ARGV[2 * i + 1], 'ts', ARGV[1])
+            end
+            return 1
+            """;
+
+    /*
+     * KEYS[1] = claimed seat set, KEYS[2] = known seat set, KEYS[3] = hold key of the seat
+     * ARGV[1] = seatId, ARGV[2] = hold token, ARGV[3] = hold TTL in millis
+     * Returns 1 when the hold was placed, 0 when the seat was already taken, -1 for unknown seats, -2 when already held.
+     */
+    private static final String HOLD_SCRIPT = """
+            if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 0 then
+                return -1
+            end
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+                return 0
+            end
+            if redis.call('SET', KEYS[3], ARGV[2], 'NX', 'PX', ARGV[3]) then
+                return 1
+            end
+            return -2
+            """;
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * Atomically claims the seat and journals the claim for the write-behind worker.
+     *
+     * @param eventId       The seat's event, whose keys the script works on.
+     * @param seatId        The seat to claim.
+     * @param ticketEventId Identifier of the domain event that will be emitted for this claim.
+     * @param holdToken     The token of the hold the seat is sold through, {@code null} for a direct reservation.
+     * @return SUCCESS, ALREADY_RESERVED, HELD (held by another customer) or HOLD_EXPIRED (the token lost the seat).
+     * @throws IllegalArgumentException if the seat is not part of the warmed inventory.
+     */
+    public String claim(long eventId, Long seatId, UUID ticketEventId, UUID holdToken) {
+        List<Object> keys = List.of(InventoryKeys.claimedSeats(eventId), InventoryKeys.claimStream(eventId),
+                InventoryKeys.knownSeats(eventId), InventoryKeys.seatHold(eventId, seatId));
+        return outcome(execute(CLAIM_SCRIPT, keys,
+                String.valueOf(seatId), String.valueOf(seatId), ticketEventId.toString(),
+                String.valueOf(System.currentTimeMillis()), holdToken == null ? "" : holdToken.toString()));
+    }
+
+    /**
+     * All-or-nothing variant of {@link #claim} for group bookings within one event. Seats held by anyone
+     * are not claimed.
+     *
+     * @param eventId        The event every seat belongs to; a group spanning events cannot be claimed
+     *                       atomically on Redis Cluster and is rejected by the caller.
+     * @param ticketEventIds Seat id to domain event id; iteration order defines the journal order.
+     * @return SUCCESS if every seat was claimed, otherwise ALREADY_RESERVED or HELD for the first seat in the way.
+     */
+    public String claimAll(long eventId, Map<Long, UUID> ticketEventIds) {
+        List<String> args = new ArrayList<>(ticketEventIds.size() * 2 + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        List<Object> keys = new ArrayList<>(ticketEventIds.size() + 3);
+        keys.addAll(List.of(InventoryKeys.claimedSeats(eventId), InventoryKeys.claimStream(eventId),
+                InventoryKeys.knownSeats(eventId)));
+        ticketEventIds.forEach((seatId, ticketEventId) -> {
+            args.add(String.valueOf(seatId));
+            args.add(ticketEventId.toString());
+            keys.add(InventoryKeys.seatHold(eventId, seatId));
+        });
+        return outcome(execute(GROUP_CLAIM_SCRIPT, keys, ticketEventIds.keySet().toString(), args.toArray()));
+    }
+
+    /**
+     * Places a hold on a seat that is neither claimed nor held, in the same atomic step as the check.
+     *
+     * @return SUCCESS, ALREADY_RESERVED or HELD.
+     * @throws IllegalArgumentException if the seat is not part of the warmed inventory.
+     */
+    public String hold(long eventId, Long seatId, UUID token, Duration ttl) {
+        List<Object> keys = List.of(InventoryKeys.claimedSeats(eventId), InventoryKeys.knownSeats(eventId),
+                InventoryKeys.seatHold(eventId, seatId));
+        return outcome(execute(HOLD_SCRIPT, keys,
+                String.valueOf(seatId), String.valueOf(seatId), token.toString(), String.valueOf(ttl.toMillis())));
+    }
+
+    private long execute(String script, List<Object> keys, String seatRef, Object... args) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE,
+                script,
+                RScript.ReturnType.INTEGER,
+                keys,
+                args);
+        if (result != null && result == UNKNOWN) {
+            throw new IllegalArgumentException("Seat ID not found: " + seatRef);
+        }
+        return result == null ? TAKEN : result;
+    }
+
+    private static String outcome(long result) {
+        if (result == CLAIMED) {
+            return "SUCCESS";
+        }
+        if (result == HELD) {
+            return "HELD";
+        }
+        return result == HOLD_LOST ? "HOLD_EXPIRED" : "ALREADY_RESERVED";
+    }
+
+    /**
+     * Seeds the event's known-seat set and claimed-seat set from Postgres, so unknown ids are rejected
+     * and seats sold through the lock-based path cannot be claimed a second time, and registers the
+     * event with the write-behind worker.
+     */
+    public void warmUp(long eventId, Collection<Long> seatIds, Collection<Long> reservedSeatIds) {
+        addAll(InventoryKeys.knownSeats(eventId), seatIds);
+        addAll(InventoryKeys.claimedSeats(eventId), reservedSeatIds);
+        redissonClient.<String>getSet(InventoryKeys.CLAIM_EVENTS, StringCodec.INSTANCE).add(String.valueOf(eventId));
+        log.info("Redis claim sets of event {} warmed: {} seats, {} existing reservations",
+                eventId, seatIds.size(), reservedSeatIds.size());
+    }
+
+    /**
+     * @return the events whose claim streams the write-behind worker drains, on every node.
+     */
+    public Set<Long> claimEvents() {
+        return redissonClient.<String>getSet(InventoryKeys.CLAIM_EVENTS, StringCodec.INSTANCE).readAll().stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    private void addAll(String key, Collection<Long> seatIds) {
+        if (!seatIds.isEmpty()) {
+            redissonClient.<String>getSet(key, StringCodec.INSTANCE)
+                    .addAll(seatIds.stream().map(String::valueOf).toList());
+        }
+    }
+}
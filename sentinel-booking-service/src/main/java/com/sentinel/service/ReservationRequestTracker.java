@@ -0,0 +1,43 @@
+package com.sentinel.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Node-local registry of accepted asynchronous reservations, polled by request id.
+ * <p>
+ * Entries are kept for {@value #RETENTION_MINUTES} minutes after acceptance, long enough for a
+ * client to collect the outcome. A poll must reach the node that accepted the request.
+ */
+@Component
+public class ReservationRequestTracker {
+
+    private static final long RETENTION_MINUTES = 5;
+    private static final long CAPACITY = 200_000;
+
+    private final Cache<UUID, TrackedReservation> requests = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(RETENTION_MINUTES))
+            .maximumSize(CAPACITY)
+            .build();
+
+    /**
+     * @return The id under which the outcome can be looked up.
+     */
+    public UUID track(Long seatId, CompletableFuture<String> result) {
+        UUID requestId = UUID.randomUUID();
+        requests.put(requestId, new TrackedReservation(seatId, result));
+        return requestId;
+    }
+
+    public Optional<TrackedReservation> find(UUID requestId) {
+        return Optional.ofNullable(requests.getIfPresent(requestId));
+    }
+
+    public record TrackedReservation(Long seatId, CompletableFuture<String> result) {}
+}
@@ -0,0 +1,401 @@
+package com.sentinel.service;
+
+import com.sentinel.dto.AvailabilitySummary;
+import com.sentinel.dto.SeatState;
+import com.sentinel.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node-local availability index, two compact bitsets per event.
+ * <p>
+ * Inventories are keyed by event id; the event name is kept for the read API. Each event keeps its seat ids sorted in a {@code long[]}; a seat's position in that array is its
+ * ordinal. The free bit is set while the seat is on sale, the sold bit once a sale is known; a seat
+ * withheld by a hold is neither. Bits are flipped with CAS, so readers and writers never block each
+ * other and counts / "first N free" / "is it sold" queries never reach the database.
+ * A seat id to inventory map sends per-seat calls straight to the owning event, so their cost does
+ * not grow with the number of events.
+ * <p>
+ * The index is warmed from Postgres once at startup and then kept current by local reservations and
+ * the {@code sentinel.public.ticketing} stream (see {@code AvailabilityEventConsumer}). Seats imported
+ * later by another process (e.g. the CLI importer) are picked up lazily: the first request for an
+ * unknown seat or event name that exists in Postgres loads its whole event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatAvailabilityIndex {
+
+    private final SeatRepository seatRepository;
+
+    private final Map<Long, EventInventory> inventories = new ConcurrentHashMap<>();
+    private final Map<Long, EventInventory> inventoriesBySeat = new ConcurrentHashMap<>();
+    private final Map<String, Long> eventIdsByName = new ConcurrentHashMap<>();
+
+    // Runs before the listeners that read the warmed index (e.g. SoldSeatCache)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Long, List<SeatState>> byEvent = new LinkedHashMap<>();
+        seatRepository.findAllSeatStates()
+                .forEach(state -> byEvent.computeIfAbsent(state.eventId(), k -> new ArrayList<>()).add(state));
+
+        byEvent.forEach((eventId, seats) -> {
+            EventInventory inventory = new EventInventory(eventId, seats.getFirst().eventName(), seats);
+            inventories.put(eventId, inventory);
+            register(inventory);
+            if (inventory.eventName != null) {
+                eventIdsByName.put(inventory.eventName, eventId);
+            }
+        });
+        log.info("Availability index warmed: {} events, {} seats", byEvent.size(),
+                byEvent.values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * Marks a seat as sold. Unknown seats are ignored and repeated calls are no-ops,
+     * which makes this safe to drive from an at-least-once event stream.
+     */
+    public void markReserved(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        if (inventory != null) {
+            inventory.markReserved(seatId);
+        }
+    }
+
+    /**
+     * Takes a free seat off sale without selling it, e.g. while it is held.
+     *
+     * @return {@code true} if this call took the seat out of the free set.
+     */
+    public boolean withhold(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        return inventory != null && inventory.withhold(seatId);
+    }
+
+    /**
+     * Puts a withheld seat back on sale, e.g. once a temporary hold expired. Sold and unknown seats are ignored.
+     */
+    public void markAvailable(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        if (inventory != null) {
+            inventory.markAvailable(seatId);
+        }
+    }
+
+    /**
+     * Adds newly imported, free seats to an event, creating its inventory if needed.
+     * <p>
+     * The event's bitset is rebuilt and swapped in; a reservation on the same event racing with the swap
+     * may be missing from this node's index (never from Postgres) until the seat is requested again,
+     * so imports belong before the on-sale.
+     */
+    public void addSeats(long eventId, String eventName, long[] seatIds) {
+        List<SeatState> seats = new ArrayList<>(seatIds.length);
+        for (long seatId : seatIds) {
+            seats.add(new SeatState(seatId, eventId, eventName, false));
+        }
+        merge(eventId, eventName, seats);
+    }
+
+    /**
+     * Resolves the event a seat belongs to without touching the database.
+     */
+    public Optional<String> eventOf(Long seatId) {
+        return Optional.ofNullable(inventoriesBySeat.get(seatId)).map(inventory -> inventory.eventName);
+    }
+
+    /**
+     * Resolves the id of the event a seat belongs to without touching the database.
+     */
+    public Optional<Long> eventIdOf(Long seatId) {
+        return Optional.ofNullable(inventoriesBySeat.get(seatId)).map(inventory -> inventory.eventId);
+    }
+
+    /**
+     * Resolves the id of the event a seat belongs to, asking Postgres for seats this node has not indexed.
+     * Lock keys, hold keys and seat queries are scoped by the result, so it is never defaulted.
+     *
+     * @throws IllegalArgumentException if the seat does not exist.
+     */
+    public long requireEventId(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        if (inventory != null) {
+            return inventory.eventId;
+        }
+        long eventId = seatRepository.findEventIdById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("Seat ID not found: " + seatId));
+        // Imported since the warm-up, most likely with the rest of its event
+        if (!inventoriesBySeat.containsKey(seatId)) {
+            load(eventId);
+        }
+        return eventId;
+    }
+
+    /**
+     * @return {@code true} if the seat is known to be sold; {@code false} for free, withheld and unknown seats.
+     */
+    public boolean isSold(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        return inventory != null && inventory.isSold(seatId);
+    }
+
+    /**
+     * @return {@code true} if the seat is off sale on this node without a known sale (e.g. held).
+     */
+    public boolean isWithheld(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        return inventory != null && inventory.isWithheld(seatId);
+    }
+
+    /**
+     * Position of the seat within its event's sorted seat ids. Seat ids come from a sequence, so seats
+     * added to an event sort after the existing ones and ordinals are the same on every node.
+     *
+     * @return the ordinal, or {@code -1} for an unknown seat.
+     */
+    public int ordinalOf(Long seatId) {
+        EventInventory inventory = inventoriesBySeat.get(seatId);
+        return inventory == null ? -1 : inventory.ordinalOf(seatId);
+    }
+
+    /**
+     * Ordinals of the sold seats of every event, by event id.
+     */
+    public Map<Long, BitSet> soldOrdinals() {
+        Map<Long, BitSet> sold = new LinkedHashMap<>();
+        inventories.forEach((eventId, inventory) -> sold.put(eventId, inventory.soldOrdinals()));
+        return sold;
+    }
+
+    /**
+     * Resolves an event name to its id, so per-event queries can filter on the partition key.
+     * Names this node has not indexed are looked up in Postgres (idx_seats_event_name) and, if found,
+     * the event is loaded, so an import through the CLI or another node is served here as well.
+     */
+    public Optional<Long> eventIdNamed(String eventName) {
+        Long eventId = eventIdsByName.get(eventName);
+        if (eventId != null) {
+            return Optional.of(eventId);
+        }
+        Optional<Long> imported = seatRepository.findEventIdsByEventName(eventName, Limit.of(1)).stream().findFirst();
+        imported.ifPresent(this::load);
+        return imported;
+    }
+
+    public Optional<AvailabilitySummary> summary(String eventName, int limit) {
+        return eventIdNamed(eventName)
+                .map(inventories::get)
+                .map(inventory -> new AvailabilitySummary(
+                        eventName, inventory.size(), inventory.available(), inventory.firstFree(limit)));
+    }
+
+    public List<AvailabilitySummary> summaries() {
+        return inventories.values().stream()
+                .sorted(Comparator.comparing(inventory -> inventory.eventName,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(inventory -> new AvailabilitySummary(
+                        inventory.eventName, inventory.size(), inventory.available(), List.of()))
+                .toList();
+    }
+
+    /**
+     * Merges the event's seats as Postgres has them now, for events imported since the warm-up.
+     */
+    private void load(long eventId) {
+        List<SeatState> seats = seatRepository.findSeatStatesByEventId(eventId);
+        if (!seats.isEmpty()) {
+            merge(eventId, seats.getFirst().eventName(), seats);
+            log.info("Availability index loaded event {}: {} seats", eventId, seats.size());
+        }
+    }
+
+    /**
+     * Rebuilds an event's inventory from its current seats plus {@code seats}. A seat is sold if either
+     * side says so, and seats withheld on this node stay withheld.
+     */
+    private void merge(long eventId, String eventName, List<SeatState> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        List<Long> withheld = new ArrayList<>();
+        EventInventory inventory = inventories.compute(eventId, (id, existing) -> {
+            Map<Long, SeatState> merged = new LinkedHashMap<>();
+            if (existing != null) {
+                List<SeatState> current = new ArrayList<>(existing.size());
+                existing.collectStates(current, withheld);
+                current.forEach(seat -> merged.put(seat.id(), seat));
+            }
+            seats.forEach(seat -> merged.merge(seat.id(), seat, (known, added) -> known.reserved() ? known : added));
+            return new EventInventory(id, eventName, List.copyOf(merged.values()));
+        });
+        withheld.forEach(inventory::withhold);
+        register(inventory);
+        if (eventName != null) {
+            eventIdsByName.put(eventName, eventId);
+        }
+    }
+
+    private void register(EventInventory inventory) {
+        for (long seatId : inventory.seatIds) {
+            inventoriesBySeat.put(seatId, inventory);
+        }
+    }
+
+    /**
+     * Lock-free free and sold bitsets over the sorted seat ids of one event.
+     */
+    private static final class EventInventory {
+
+        private final long eventId;
+        private final String eventName;
+        private final long[] seatIds;
+        private final AtomicLongArray freeBits;
+        private final AtomicLongArray soldBits;
+        private final AtomicInteger available = new AtomicInteger();
+
+        EventInventory(long eventId, String eventName, List<SeatState> seats) {
+            this.eventId = eventId;
+            this.eventName = eventName;
+            this.seatIds = seats.stream().mapToLong(SeatState::id).sorted().toArray();
+            this.freeBits = new AtomicLongArray((seatIds.length + 63) >>> 6);
+            this.soldBits = new AtomicLongArray(freeBits.length());
+
+            for (SeatState seat : seats) {
+                int ordinal = Arrays.binarySearch(seatIds, seat.id());
+                if (seat.reserved()) {
+                    soldBits.getAndUpdate(ordinal >>> 6, word -> word | (1L << ordinal));
+                } else {
+                    freeBits.getAndUpdate(ordinal >>> 6, word -> word | (1L << ordinal));
+                    available.incrementAndGet();
+                }
+            }
+        }
+
+        int ordinalOf(long seatId) {
+            if (seatIds.length == 0 || seatId < seatIds[0] || seatId > seatIds[seatIds.length - 1]) {
+                return -1;
+            }
+            return Arrays.binarySearch(seatIds, seatId);
+        }
+
+        void markReserved(long seatId) {
+            int ordinal = ordinalOf(seatId);
+            if (ordinal < 0) {
+                return;
+            }
+            // Sold first: a concurrent markAvailable re-checks it after setting the free bit
+            soldBits.getAndUpdate(ordinal >>> 6, word -> word | (1L << ordinal));
+            clearFree(ordinal);
+        }
+
+        boolean withhold(long seatId) {
+            int ordinal = ordinalOf(seatId);
+            return ordinal >= 0 && clearFree(ordinal);
+        }
+
+        void markAvailable(long seatId) {
+            int ordinal = ordinalOf(seatId);
+            if (ordinal < 0 || soldAt(ordinal)) {
+                return;
+            }
+            long mask = 1L << ordinal;
+            long previous = freeBits.getAndUpdate(ordinal >>> 6, word -> word | mask);
+            if ((previous & mask) == 0) {
+                available.incrementAndGet();
+            }
+            if (soldAt(ordinal)) {
+                // Lost a race with a sale
+                clearFree(ordinal);
+            }
+        }
+
+        boolean isSold(long seatId) {
+            int ordinal = ordinalOf(seatId);
+            return ordinal >= 0 && soldAt(ordinal);
+        }
+
+        boolean isWithheld(long seatId) {
+            int ordinal = ordinalOf(seatId);
+            return ordinal >= 0 && !freeAt(ordinal) && !soldAt(ordinal);
+        }
+
+        private boolean clearFree(int ordinal) {
+            long mask = 1L << ordinal;
+            long previous = freeBits.getAndUpdate(ordinal >>> 6, word -> word & ~mask);
+            if ((previous & mask) != 0) {
+                available.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean freeAt(int ordinal) {
+            return (freeBits.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+        }
+
+        private boolean soldAt(int ordinal) {
+            return (soldBits.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+        }
+
+        BitSet soldOrdinals() {
+            long[] words = new long[soldBits.length()];
+            for (int w = 0; w < words.length; w++) {
+                words[w] = soldBits.get(w);
+            }
+            return BitSet.valueOf(words);
+        }
+
+        /**
+         * Sold seats are collected as reserved, withheld ones as free with their id added to {@code withheld}.
+         */
+        void collectStates(List<SeatState> target, List<Long> withheld) {
+            for (int ordinal = 0; ordinal < seatIds.length; ordinal++) {
+                boolean sold = soldAt(ordinal);
+                target.add(new SeatState(seatIds[ordinal], eventId, eventName, sold));
+                if (!sold && !freeAt(ordinal)) {
+                    withheld.add(seatIds[ordinal]);
+                }
+            }
+        }
+
+        List<Long> firstFree(int limit) {
+            List<Long> result = new ArrayList<>(Math.min(limit, available.get()));
+            for (int w = 0; w < freeBits.length() && result.size() < limit; w++) {
+                long word = freeBits.get(w);
+                while (word != 0 && result.size() < limit) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    result.add(seatIds[(w << 6) + bit]);
+                    word &= word - 1;
+                }
+            }
+            return result;
+        }
+
+        int size() {
+            return seatIds.length;
+        }
+
+        int available() {
+            return available.get();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.sentinel.service;
+
+import com.sentinel.config.BookingProperties;
+import com.sentinel.dto.SeatHold;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Temporary seat holds for checkout flows: hold first, pay, then confirm.
+ * <p>
+ * A hold is an event-scoped Redis key ({@code SET NX PX}, see {@link InventoryKeys#seatHold}) carrying an
+ * opaque token, whatever the engine: placing, releasing or abandoning a hold never writes to Postgres, and
+ * only the confirm step sells the seat through the engine. With REDIS_SCRIPT the claim scripts read the
+ * hold key themselves. The database engines run every sale inside {@link #guardSale}: a direct sale puts
+ * a short-lived fence into the seat's hold key, so no hold can be placed while the sale is in flight and a
+ * held seat is refused before the engine is called; a confirm must find its token there.
+ * <p>
+ * A node-local hashed wheel timer mirrors the TTL to put the seat back into the {@link SeatAvailabilityIndex}
+ * when the hold lapses: O(1) per hold and no table scan. Only seats this node took out of the index are
+ * put back.
+ */
+@Slf4j
+@Component
+public class SeatHoldService {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final String SALE_FENCE_PREFIX = "sale:";
+    // Outlives any sale attempt (lock wait plus lease); a fence left by a crashed node only delays holds this long
+    private static final Duration SALE_FENCE_TTL = Duration.ofSeconds(30);
+
+    private final RedissonClient redissonClient;
+    private final RedisSeatClaimService claimService;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SoldSeatCache soldSeatCache;
+    private final boolean checkedByScript;
+    private final BookingProperties.Hold settings;
+    private final HashedWheelTimer expiryWheel;
+    private final Map<Long, Timeout> pendingExpiries = new ConcurrentHashMap<>();
+
+    public SeatHoldService(RedissonClient redissonClient, RedisSeatClaimService claimService,
+                           SeatAvailabilityIndex availabilityIndex, SoldSeatCache soldSeatCache,
+                           BookingProperties properties) {
+        this.redissonClient = redissonClient;
+        this.claimService = claimService;
+        this.availabilityIndex = availabilityIndex;
+        this.soldSeatCache = soldSeatCache;
+        this.checkedByScript = properties.engine() == BookingProperties.ReservationEngine.REDIS_SCRIPT;
+        this.settings = properties.hold();
+        this.expiryWheel = new HashedWheelTimer(new DefaultThreadFactory("seat-hold-sweeper", true),
+                settings.sweepTick().toMillis(), TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    /**
+     * Places a hold on a free seat.
+     *
+     * @return the granted hold, or a rejection with status {@code ALREADY_RESERVED} or {@code HELD}
+     */
+    public SeatHold hold(Long seatId) {
+        long eventId = availabilityIndex.requireEventId(seatId);
+        if (soldSeatCache.isSold(seatId)) {
+            return SeatHold.rejected(seatId, "ALREADY_RESERVED");
+        }
+
+        UUID token = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(settings.ttl());
+        // The claim script also checks the claimed-seat set; the database engines keep sales out through the fence
+        String outcome = checkedByScript
+                ? claimService.hold(eventId, seatId, token, settings.ttl())
+                : bucket(eventId, seatId).setIfAbsent(token.toString(), settings.ttl()) ? "SUCCESS" : "HELD";
+        if (!"SUCCESS".equals(outcome)) {
+            if ("ALREADY_RESERVED".equals(outcome)) {
+                availabilityIndex.markReserved(seatId);
+            }
+            return SeatHold.rejected(seatId, outcome);
+        }
+
+        // Hide the seat from local listings until the hold is confirmed, released or lapses
+        boolean withheld = availabilityIndex.withhold(seatId);
+        Timeout previous = pendingExpiries.remove(seatId);
+        if (previous != null) {
+            // A lapsed hold of this node still keeps the seat out of the index, the new one takes it over
+            previous.cancel();
+            withheld = true;
+        }
+        if (withheld) {
+            pendingExpiries.put(seatId, expiryWheel.newTimeout(
+                    timeout -> expire(seatId, timeout), settings.ttl().toMillis(), TimeUnit.MILLISECONDS));
+        }
+        log.debug("Hold placed on SeatID: {} for {}", seatId, settings.ttl());
+        return SeatHold.granted(seatId, token, expiresAt);
+    }
+
+    /**
+     * Runs a database-engine sale of one seat so that it cannot cross a hold.
+     * <p>
+     * A direct sale ({@code holdToken == null}) of a held seat returns {@code HELD} without calling the
+     * engine; otherwise the seat's hold key is fenced for the duration of the sale, so no hold can be
+     * placed on a seat that is being sold. A confirm returns {@code HOLD_EXPIRED} unless its token still
+     * holds the seat, and drops the hold once the seat is sold.
+     *
+     * @param sale The engine's claim, returning its outcome.
+     */
+    public String guardSale(long eventId, Long seatId, UUID holdToken, Supplier<String> sale) {
+        if (holdToken == null) {
+            return guardGroupSale(Map.of(seatId, eventId), sale);
+        }
+        RBucket<String> hold = bucket(eventId, seatId);
+        String token = holdToken.toString();
+        if (!token.equals(hold.get())) {
+            return "HOLD_EXPIRED";
+        }
+        // Direct sales are refused while the key carries the token, so the engine only arbitrates the confirm itself
+        String result = sale.get();
+        if ("SUCCESS".equals(result) || "ALREADY_RESERVED".equals(result)) {
+            hold.compareAndSetAsync(token, null);
+            complete(seatId);
+        }
+        return result;
+    }
+
+    /**
+     * All-or-nothing variant of {@link #guardSale} for direct group sales.
+     *
+     * @param eventIds Seat id to event id.
+     * @return {@code HELD} if any seat is held by a customer, otherwise the outcome of the sale.
+     */
+    public String guardGroupSale(Map<Long, Long> eventIds, Supplier<String> sale) {
+        String fence = SALE_FENCE_PREFIX + UUID.randomUUID();
+        List<RBucket<String>> fenced = new ArrayList<>(eventIds.size());
+        try {
+            for (Map.Entry<Long, Long> seat : eventIds.entrySet()) {
+                if (!fence(bucket(seat.getValue(), seat.getKey()), fence, fenced)) {
+                    return "HELD";
+                }
+            }
+            return sale.get();
+        } finally {
+            fenced.forEach(hold -> hold.compareAndSetAsync(fence, null));
+        }
+    }
+
+    /**
+     * @return {@code false} if a customer holds the seat.
+     */
+    private static boolean fence(RBucket<String> hold, String fence, List<RBucket<String>> fenced) {
+        if (hold.setIfAbsent(fence, SALE_FENCE_TTL)) {
+            fenced.add(hold);
+            return true;
+        }
+        String holder = hold.get();
+        // Another sale of the seat is in flight and keeps holds out as well; the engine arbitrates between the two
+        return holder == null || holder.startsWith(SALE_FENCE_PREFIX);
+    }
+
+    /**
+     * Forgets the local expiry of a hold the engine has sold the seat through. The seat stays unavailable.
+     */
+    public void complete(Long seatId) {
+        cancelExpiry(seatId);
+    }
+
+    /**
+     * Gives the seat back before the hold lapses (e.g. the customer left checkout).
+     *
+     * @return {@code false} if the token no longer holds the seat.
+     */
+    public boolean release(Long seatId, UUID token) {
+        long eventId = availabilityIndex.requireEventId(seatId);
+        if (!bucket(eventId, seatId).compareAndSet(token.toString(), null)) {
+            return false;
+        }
+        if (cancelExpiry(seatId)) {
+            putBackOnSale(seatId);
+        }
+        return true;
+    }
+
+    /**
+     * Wheel callback, runs once the Redis TTL has elapsed: the key is already gone, only local state is updated.
+     */
+    private void expire(Long seatId, Timeout timeout) {
+        if (pendingExpiries.remove(seatId, timeout)) {
+            putBackOnSale(seatId);
+            log.debug("Hold on SeatID: {} lapsed", seatId);
+        }
+    }
+
+    /**
+     * @return {@code true} if this node had withheld the seat for a hold.
+     */
+    private boolean cancelExpiry(Long seatId) {
+        Timeout timeout = pendingExpiries.remove(seatId);
+        if (timeout != null) {
+            timeout.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    private void putBackOnSale(Long seatId) {
+        // Ignored by the index if the seat was sold meanwhile
+        availabilityIndex.markAvailable(seatId);
+    }
+
+    private RBucket<String> bucket(long eventId, Long seatId) {
+        return redissonClient.getBucket(InventoryKeys.seatHold(eventId, seatId), StringCodec.INSTANCE);
+    }
+
+    @PreDestroy
+    void stop() {
+        expiryWheel.stop();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sentinel.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Node-local single-flight stage keyed by seat id.
+ * <p>
+ * The first request for a seat becomes the leader and runs the real reservation (Redis, Postgres).
+ * Requests arriving while it is in flight become followers and wait for the leader's outcome instead
+ * of issuing their own lock / script / UPDATE. A seat can only be won once, so a leader SUCCESS or
+ * ALREADY_RESERVED answers every follower with ALREADY_RESERVED without any network I/O. Inconclusive
+ * outcomes (busy, error) are not shared: those followers run the attempt themselves.
+ */
+@Slf4j
+@Component
+public class SeatRequestCoalescer {
+
+    private final Map<Long, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public String execute(Long seatId, Supplier<String> attempt) {
+        CompletableFuture<String> ours = new CompletableFuture<>();
+        CompletableFuture<String> leader = inFlight.putIfAbsent(seatId, ours);
+
+        if (leader != null) {
+            String outcome = leader.join();
+            if ("SUCCESS".equals(outcome) || "ALREADY_RESERVED".equals(outcome)) {
+                log.debug("Coalesced request for SeatID: {} answered from leader outcome {}", seatId, outcome);
+                return "ALREADY_RESERVED";
+            }
+            return attempt.get();
+        }
+
+        String outcome = "ERROR";
+        try {
+            outcome = attempt.get();
+            return outcome;
+        } finally {
+            inFlight.remove(seatId, ours);
+            ours.complete(outcome);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.sentinel.service;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.config.BookingProperties;
+import com.sentinel.dto.SeatState;
+import com.sentinel.outbox.TicketingOutbox;
+import com.sentinel.repository.SeatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.AutoClaimResult;
+import org.redisson.api.PendingEntry;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains seat claims made by {@link RedisSeatClaimService} into Postgres in batches.
+ * <p>
+ * Each event has its own claim stream ({@link InventoryKeys#claimStream}); every cycle drains the streams
+ * of the events listed in {@link InventoryKeys#CLAIM_EVENTS}, one event at a time, so a batch is a single
+ * UPDATE on one partition. Claims are read through a Redis stream consumer group and acknowledged only
+ * after the batched UPDATE has committed. Anything read but not acknowledged (e.g. the node crashed
+ * mid-flush) stays in the pending list and is replayed on the next cycle, or taken over by another node
+ * once it has been idle for {@code claimIdleTime}. The UPDATE itself skips seats that are already
+ * reserved, which makes replays idempotent.
+ * <p>
+ * Failures are handled per claim: an unreadable claim, or one the database rejects (the batch is then
+ * retried claim by claim), stays pending while the others are acknowledged. Once it has been delivered
+ * {@code maxDeliveries} times it is moved to the event's dead-letter stream ({@link InventoryKeys#deadClaims})
+ * and counted in {@code sentinel_booking_write_behind_dead_lettered_total}. Any other error (Postgres or
+ * Redis unavailable) leaves the whole batch pending for the next cycle.
+ * <p>
+ * The matching {@link TicketSoldEvent}s are written to the outbox in the same transaction, reusing
+ * the event id minted at claim time, so a replayed batch republishes the same ids for consumers to drop.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sentinel.booking", name = "engine", havingValue = "REDIS_SCRIPT")
+public class SeatWriteBehindWorker {
+
+    static final String CONSUMER_GROUP = "seat-write-behind";
+
+    private final SeatRepository seatRepository;
+    private final RedisSeatClaimService claimService;
+    private final TicketingOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final BookingProperties.WriteBehind settings;
+    private final Set<Long> groupsCreated = ConcurrentHashMap.newKeySet();
+    private final Counter deadLettered;
+
+    public SeatWriteBehindWorker(SeatRepository seatRepository,
+                                 RedisSeatClaimService claimService,
+                                 TicketingOutbox outbox,
+                                 TransactionTemplate transactionTemplate,
+                                 RedissonClient redissonClient,
+                                 BookingProperties properties,
+                                 MeterRegistry registry) {
+        this.seatRepository = seatRepository;
+        this.claimService = claimService;
+        this.outbox = outbox;
+        this.transactionTemplate = transactionTemplate;
+        this.redissonClient = redissonClient;
+        this.settings = properties.writeBehind();
+        this.deadLettered = Counter.builder("sentinel.booking.write_behind.dead_lettered")
+                .description("Seat claims moved to the dead-letter stream after maxDeliveries failed deliveries")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Map<Long, List<SeatState>> seatsByEvent = seatRepository.findAllSeatStates().stream()
+                .collect(Collectors.groupingBy(SeatState::eventId));
+        seatsByEvent.forEach((eventId, seats) -> claimService.warmUp(eventId,
+                seats.stream().map(SeatState::id).toList(),
+                seats.stream().filter(SeatState::reserved).map(SeatState::id).toList()));
+    }
+
+    @Scheduled(fixedDelayString = "${sentinel.booking.write-behind.interval:200ms}")
+    public void flush() {
+        Set<Long> eventIds;
+        try {
+            eventIds = claimService.claimEvents();
+        } catch (Exception e) {
+            log.error("Write-behind could not list the claim streams, claims stay pending for replay", e);
+            return;
+        }
+        for (Long eventId : eventIds) {
+            try {
+                flush(eventId);
+            } catch (Exception e) {
+                log.error("Write-behind flush of event {} failed, claims stay pending for replay", eventId, e);
+            }
+        }
+    }
+
+    private void flush(long eventId) {
+        RStream<String, String> claimStream = claimStream(eventId);
+        // 1. Replay our own un-acked claims first (crash recovery), then adopt stale ones from dead nodes
+        Map<StreamMessageId, Map<String, String>> batch = claimStream.readGroup(
+                CONSUMER_GROUP, settings.consumerName(),
+                StreamReadGroupArgs.greaterThan(StreamMessageId.ALL).count(settings.batchSize()));
+
+        if (batch.isEmpty()) {
+            AutoClaimResult<String, String> stale = claimStream.autoClaim(
+                    CONSUMER_GROUP, settings.consumerName(),
+                    settings.claimIdleTime().toMillis(), TimeUnit.MILLISECONDS,
+                    StreamMessageId.MIN, settings.batchSize());
+            batch = stale.getMessages();
+        }
+
+        // 2. Fresh claims
+        if (batch.isEmpty()) {
+            batch = claimStream.readGroup(
+                    CONSUMER_GROUP, settings.consumerName(),
+                    StreamReadGroupArgs.neverDelivered().count(settings.batchSize()));
+        }
+
+        if (!batch.isEmpty()) {
+            apply(eventId, claimStream, batch);
+        }
+    }
+
+    private RStream<String, String> claimStream(long eventId) {
+        RStream<String, String> claimStream = redissonClient.getStream(InventoryKeys.claimStream(eventId), StringCodec.INSTANCE);
+        if (!groupsCreated.contains(eventId)) {
+            try {
+                claimStream.createGroup(StreamCreateGroupArgs.name(CONSUMER_GROUP).id(StreamMessageId.ALL).makeStream());
+            } catch (Exception e) {
+                if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                    throw e;
+                }
+                // The group was already created by this or another node
+            }
+            groupsCreated.add(eventId);
+        }
+        return claimStream;
+    }
+
+    private void apply(long eventId, RStream<String, String> claimStream, Map<StreamMessageId, Map<String, String>> batch) {
+        Map<StreamMessageId, TicketSoldEvent> claims = new LinkedHashMap<>();
+        List<StreamMessageId> failed = new ArrayList<>();
+        batch.forEach((id, fields) -> {
+            try {
+                claims.put(id, toEvent(fields));
+            } catch (RuntimeException e) {
+                log.warn("Unreadable claim {} of event {}: {}", id, eventId, e.getMessage());
+                failed.add(id);
+            }
+        });
+
+        List<StreamMessageId> applied = new ArrayList<>(claims.size());
+        try {
+            try {
+                persist(eventId, claims.values());
+                applied.addAll(claims.keySet());
+            } catch (DataIntegrityViolationException e) {
+                // One claim the database rejects must not hold back the others
+                for (Map.Entry<StreamMessageId, TicketSoldEvent> claim : claims.entrySet()) {
+                    try {
+                        persist(eventId, List.of(claim.getValue()));
+                        applied.add(claim.getKey());
+                    } catch (DataIntegrityViolationException rejected) {
+                        log.warn("Claim {} of event {} rejected by the database: {}",
+                                claim.getKey(), eventId, rejected.getMessage());
+                        failed.add(claim.getKey());
+                    }
+                }
+            }
+        } finally {
+            acknowledge(claimStream, applied);
+        }
+        deadLetterExhausted(eventId, claimStream, failed, batch);
+
+        log.info("Write-behind applied {} of {} claims of event {}", applied.size(), batch.size(), eventId);
+    }
+
+    private static TicketSoldEvent toEvent(Map<String, String> fields) {
+        return new TicketSoldEvent(
+                UUID.fromString(fields.get("eventId")),
+                Long.valueOf(fields.get("seatId")),
+                "RESERVED",
+                Instant.ofEpochMilli(Long.parseLong(fields.get("ts"))));
+    }
+
+    private void persist(long eventId, Collection<TicketSoldEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<Long> seatIds = new LinkedHashSet<>();
+        events.forEach(event -> seatIds.add(event.seatId()));
+        transactionTemplate.executeWithoutResult(status -> {
+            seatRepository.markReserved(eventId, seatIds);
+            outbox.appendAll(List.copyOf(events));
+        });
+    }
+
+    /**
+     * Moves the failed claims that have used up their deliveries to the dead-letter stream; the others
+     * stay pending and are replayed on the next cycle.
+     */
+    private void deadLetterExhausted(long eventId, RStream<String, String> claimStream,
+                                     List<StreamMessageId> failed, Map<StreamMessageId, Map<String, String>> batch) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        RStream<String, String> deadLetters = redissonClient.getStream(InventoryKeys.deadClaims(eventId), StringCodec.INSTANCE);
+        List<StreamMessageId> exhausted = new ArrayList<>(failed.size());
+        for (StreamMessageId id : failed) {
+            List<PendingEntry> pending = claimStream.listPending(CONSUMER_GROUP, id, id, 1);
+            if (!pending.isEmpty() && pending.getFirst().getLastTimeDelivered() >= settings.maxDeliveries()) {
+                Map<String, String> entry = new LinkedHashMap<>(batch.get(id));
+                entry.put("claimId", id.toString());
+                deadLetters.add(StreamAddArgs.entries(entry));
+                exhausted.add(id);
+                log.error("Claim {} of event {} failed {} deliveries, moved to {}",
+                        id, eventId, pending.getFirst().getLastTimeDelivered(), InventoryKeys.deadClaims(eventId));
+            }
+        }
+        acknowledge(claimStream, exhausted);
+        deadLettered.increment(exhausted.size());
+    }
+
+    private static void acknowledge(RStream<String, String> claimStream, List<StreamMessageId> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        StreamMessageId[] ids = applied.toArray(StreamMessageId[]::new);
+        claimStream.ack(CONSUMER_GROUP, ids);
+        claimStream.remove(ids);
+    }
+}
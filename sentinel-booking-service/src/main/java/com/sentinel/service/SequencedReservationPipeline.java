@@ -0,0 +1,210 @@
+package com.sentinel.service;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.config.BookingProperties;
+import com.sentinel.metrics.BookingMetrics;
+import com.sentinel.outbox.TicketingOutbox;
+import com.sentinel.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single-writer reservation engine: request threads never contend for a lock or a seat row.
+ * <p>
+ * Each request is routed by seat id hash to one of {@code partitions} bounded ring buffers, and each
+ * buffer is drained by exactly one writer thread. A writer takes whatever has queued up (at most
+ * {@code batchSize} requests), grants every seat to the earliest request for it, and applies the
+ * batch as one JDBC batch of guarded UPDATEs plus the matching outbox rows in a single transaction.
+ * Callers wait on a {@link CompletableFuture} that is completed once the batch has committed, so
+ * under load one commit is paid per batch instead of per request.
+ * <p>
+ * The UPDATE keeps its {@code is_reserved = false} guard, which makes the database the arbiter across
+ * nodes (each node runs its own writers) and against group bookings, which still take the
+ * conditional-update path. A full buffer rejects immediately with SYSTEM_BUSY.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "sentinel.booking", name = "engine", havingValue = "SEQUENCED")
+public class SequencedReservationPipeline {
+
+    private static final String CLAIM_SEAT = "update seats set is_reserved = true, version = version + 1 " +
+            "where event_id = ? and id = ? and is_reserved = false";
+
+    private final SeatRepository seatRepository;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final TicketingOutbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingMetrics metrics;
+    private final BookingProperties.Sequencer settings;
+    private final List<BlockingQueue<Pending>> rings;
+    private final List<Thread> writers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public SequencedReservationPipeline(SeatRepository seatRepository,
+                                        SeatAvailabilityIndex availabilityIndex,
+                                        TicketingOutbox outbox,
+                                        JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        BookingMetrics metrics,
+                                        BookingProperties properties) {
+        this.seatRepository = seatRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.settings = properties.sequencer();
+        this.rings = new ArrayList<>(settings.partitions());
+        for (int i = 0; i < settings.partitions(); i++) {
+            rings.add(new ArrayBlockingQueue<>(settings.capacity()));
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < rings.size(); i++) {
+            BlockingQueue<Pending> ring = rings.get(i);
+            writers.add(Thread.ofPlatform()
+                    .name("seat-sequencer-" + i)
+                    .daemon(true)
+                    .start(() -> drain(ring)));
+        }
+        log.info("Sequenced reservation engine started: {} partitions, capacity {}, batch size {}",
+                settings.partitions(), settings.capacity(), settings.batchSize());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writers.forEach(Thread::interrupt);
+        for (Thread writer : writers) {
+            writer.join(settings.resultTimeout().toMillis());
+        }
+        // Whatever was still queued never reached the database
+        List<Pending> abandoned = new ArrayList<>();
+        rings.forEach(ring -> ring.drainTo(abandoned));
+        abandoned.forEach(pending -> pending.result().complete("SYSTEM_BUSY"));
+    }
+
+    /**
+     * Queues a reservation on the partition owning the seat.
+     *
+     * @param eventId The seat's event, which scopes the UPDATE to one table partition.
+     * @return Completed with the reservation outcome once the writer's batch has committed;
+     *         already completed with SYSTEM_BUSY if the partition's buffer is full.
+     */
+    public CompletableFuture<String> submit(long eventId, Long seatId) {
+        Pending pending = new Pending(eventId, seatId, new CompletableFuture<>());
+        if (!running || !rings.get(partitionOf(seatId)).offer(pending)) {
+            log.warn("Sequencer buffer full for SeatID: {}", seatId);
+            pending.result().complete("SYSTEM_BUSY");
+        }
+        return pending.result();
+    }
+
+    int partitionOf(Long seatId) {
+        return Math.floorMod(Long.hashCode(seatId), rings.size());
+    }
+
+    private void drain(BlockingQueue<Pending> ring) {
+        List<Pending> batch = new ArrayList<>(settings.batchSize());
+        while (running) {
+            try {
+                batch.add(ring.take());
+                ring.drainTo(batch, settings.batchSize() - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().complete("INTERRUPTED"));
+                return;
+            } catch (Exception e) {
+                log.error("Sequenced batch of {} reservations failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().complete("ERROR"));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies one batch in arrival order. Only the first request per seat is sent to the database;
+     * later requests for the same seat in the batch lose to it whatever its outcome.
+     */
+    private void apply(List<Pending> batch) {
+        Map<Long, List<Pending>> bySeat = new LinkedHashMap<>();
+        batch.forEach(pending -> bySeat.computeIfAbsent(pending.seatId(), id -> new ArrayList<>(1)).add(pending));
+        List<Pending> claims = bySeat.values().stream().map(List::getFirst).toList();
+
+        Set<Long> claimed = metrics.timePhase(BookingMetrics.PHASE_TRANSACTION,
+                () -> transactionTemplate.execute(status -> claimAll(claims)));
+
+        bySeat.forEach((seatId, requests) -> {
+            Pending head = requests.getFirst();
+            String first = claimed.contains(seatId) ? "SUCCESS" : outcomeOfUnclaimed(head.eventId(), seatId);
+            requests.getFirst().result().complete(first);
+            String rest = "ERROR".equals(first) ? "ERROR" : "ALREADY_RESERVED";
+            requests.subList(1, requests.size()).forEach(pending -> pending.result().complete(rest));
+        });
+        log.debug("Sequenced batch applied: {} requests, {} seats, {} claimed", batch.size(), claims.size(), claimed.size());
+    }
+
+    private Set<Long> claimAll(List<Pending> claims) {
+        int[] updated = jdbcTemplate.batchUpdate(CLAIM_SEAT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setLong(1, claims.get(i).eventId());
+                statement.setLong(2, claims.get(i).seatId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return claims.size();
+            }
+        });
+
+        Set<Long> claimed = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 1) {
+                claimed.add(claims.get(i).seatId());
+            }
+        }
+        if (!claimed.isEmpty()) {
+            outbox.appendAll(claims.stream().map(Pending::seatId).filter(claimed::contains).map(TicketSoldEvent::create).toList());
+        }
+        return claimed;
+    }
+
+    /**
+     * A zero row count means taken or unknown; only seats not known as sold on this node pay for a query.
+     */
+    private String outcomeOfUnclaimed(long eventId, Long seatId) {
+        if (availabilityIndex.isSold(seatId) || seatRepository.existsByEventIdAndId(eventId, seatId)) {
+            return "ALREADY_RESERVED";
+        }
+        log.error("Seat ID not found: {}", seatId);
+        return "ERROR";
+    }
+
+    private record Pending(long eventId, Long seatId, CompletableFuture<String> result) {}
+}
@@ -0,0 +1,89 @@
+package com.sentinel.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Negative cache of sold seats, used to reject doomed attempts before any lock or JDBC call.
+ * <p>
+ * The local tier is the sold bit of the {@link SeatAvailabilityIndex}: warmed from Postgres at startup and
+ * kept current by this node's sales and the ticketing stream, it answers without a round trip. The shared
+ * tier is a Redis bitmap per event ({@link InventoryKeys#soldSeats}) indexed by the seat's ordinal within
+ * the event, so it is as large as the event rather than the highest seat id. It is only probed for a seat
+ * this node has withheld without a known sale, typically a hold placed here that may have been confirmed
+ * through another node; a free-looking seat goes to the engine, which arbitrates anyway. A sale is final,
+ * so only positive "sold" facts are recorded and bits never need clearing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoldSeatCache {
+
+    private final RedissonClient redissonClient;
+    private final SeatAvailabilityIndex availabilityIndex;
+
+    /**
+     * ORs the sales found in Postgres into the shared bitmaps (through a staging key, so bits other nodes
+     * set meanwhile are kept). Runs after the index warm-up, which provides the snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        availabilityIndex.soldOrdinals().forEach((eventId, sold) -> {
+            if (sold.isEmpty()) {
+                return;
+            }
+            try {
+                RBitSet staging = redissonClient.getBitSet(InventoryKeys.soldSeatsStaging(eventId));
+                staging.set(sold);
+                sharedBitmap(eventId).or(staging.getName());
+                staging.delete();
+            } catch (Exception e) {
+                log.warn("Could not seed the sold-seat bitmap of event {}: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return {@code true} if the seat is known to be sold; {@code false} means "unknown", not "free".
+     */
+    public boolean isSold(Long seatId) {
+        if (availabilityIndex.isSold(seatId)) {
+            return true;
+        }
+        if (!availabilityIndex.isWithheld(seatId)) {
+            return false;
+        }
+        try {
+            long eventId = availabilityIndex.eventIdOf(seatId).orElseThrow();
+            if (sharedBitmap(eventId).get(availabilityIndex.ordinalOf(seatId))) {
+                availabilityIndex.markReserved(seatId);
+                return true;
+            }
+        } catch (Exception e) {
+            // The cache is an optimisation only: fall through to the authoritative path
+            log.warn("Sold-seat bitmap unavailable, skipping short-circuit for SeatID: {}", seatId);
+        }
+        return false;
+    }
+
+    /**
+     * Publishes a sale made (or observed as already made) by this node to the shared bitmap.
+     * The local tier is updated by {@link SeatAvailabilityIndex#markReserved}.
+     */
+    public void recordSold(Long seatId) {
+        int ordinal = availabilityIndex.ordinalOf(seatId);
+        if (ordinal >= 0) {
+            availabilityIndex.eventIdOf(seatId)
+                    .ifPresent(eventId -> sharedBitmap(eventId).setAsync(ordinal));
+        }
+    }
+
+    private RBitSet sharedBitmap(long eventId) {
+        return redissonClient.getBitSet(InventoryKeys.soldSeats(eventId));
+    }
+}
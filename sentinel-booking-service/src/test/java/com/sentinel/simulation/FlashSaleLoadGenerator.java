@@ -0,0 +1,87 @@
+package com.sentinel.simulation;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fires bursts of concurrent clients at {@code POST /api/v1/bookings/reserve/{seatId}}.
+ * <p>
+ * Each client is a virtual thread. All clients of a burst block on a start gate and are released
+ * together, which reproduces the "on-sale opens" spike rather than a smooth ramp.
+ */
+class FlashSaleLoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+
+    FlashSaleLoadGenerator(URI baseUri) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    SimulationReport run(LoadPattern pattern, List<Long> seatIds, SimulationSettings settings) throws Exception {
+        List<SimulationReport.Response> responses = new ArrayList<>(settings.totalRequests());
+        long startedAt = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int burst = 0; burst < settings.bursts(); burst++) {
+                CountDownLatch startGate = new CountDownLatch(1);
+                List<Future<SimulationReport.Response>> inFlight = new ArrayList<>(settings.clients());
+
+                for (int client = 0; client < settings.clients(); client++) {
+                    long seatId = pattern.pick(seatIds, (long) burst * settings.clients() + client, settings);
+                    inFlight.add(clients.submit(() -> {
+                        startGate.await();
+                        return reserve(seatId);
+                    }));
+                }
+
+                startGate.countDown();
+                for (Future<SimulationReport.Response> response : inFlight) {
+                    responses.add(response.get());
+                }
+            }
+        }
+        return new SimulationReport(pattern, responses, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private SimulationReport.Response reserve(long seatId) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/v1/bookings/reserve/" + seatId))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+
+        long sentAt = System.nanoTime();
+        String outcome;
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            outcome = switch (status) {
+                case 201 -> "SUCCESS";
+                case 409 -> "TAKEN";
+                case 503 -> "RETRY";
+                case 429 -> "WAITING_ROOM_FULL";
+                default -> "HTTP_" + status;
+            };
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            outcome = "CLIENT_ERROR";
+        }
+        return new SimulationReport.Response(seatId, outcome, System.nanoTime() - sentAt);
+    }
+}
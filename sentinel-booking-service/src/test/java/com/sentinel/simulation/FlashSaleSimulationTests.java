@@ -0,0 +1,113 @@
+package com.sentinel.simulation;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.producer.BookingEventProducer;
+import com.sentinel.repository.OutboxEventRepository;
+import com.sentinel.repository.SeatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.convention.TestBean;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Flash-sale load simulation against the full booking service (HTTP, admission, coalescing, engine,
+ * outbox relay) wired to local stand-ins: H2 instead of Postgres, in-JVM Redisson and producer fakes.
+ * <p>
+ * Each load pattern runs on a freshly seeded context and must keep the sale invariants:
+ * no seat is sold twice, the database agrees with the responses, and every sale is published exactly once.
+ * The engine is the configured one ({@code -Dsentinel.booking.engine=CONDITIONAL_UPDATE} to switch);
+ * load shape is set through {@link SimulationSettings}.
+ */
+@Slf4j
+@ActiveProfiles("simulation")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FlashSaleSimulationTests {
+
+    private static final long OUTBOX_DRAIN_TIMEOUT_MILLIS = 10_000;
+
+    @TestBean
+    private RedissonClient redissonClient;
+
+    @TestBean
+    private BookingEventProducer bookingEventProducer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    static RedissonClient redissonClient() {
+        return LocalStandIns.redisson();
+    }
+
+    static BookingEventProducer bookingEventProducer() {
+        return new LocalStandIns.RecordingEventProducer();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LoadPattern.class)
+    void onSaleKeepsInvariants(LoadPattern pattern) throws Exception {
+        SimulationSettings settings = SimulationSettings.fromSystemProperties();
+        List<Long> seatIds = seatRepository.findAllIds().stream().sorted().toList();
+
+        SimulationReport report = new FlashSaleLoadGenerator(URI.create("http://localhost:" + port))
+                .run(pattern, seatIds, settings);
+        log.info("\n{}", report.summary());
+
+        assertEquals(settings.totalRequests(), report.responses().size());
+        assertNoSeatSoldTwice(report);
+        assertEquals(new HashSet<>(report.successfulSeatIds()), new HashSet<>(seatRepository.findReservedIds()),
+                "Reserved seats in the database must be exactly the seats answered with SUCCESS");
+        assertEverySalePublishedOnce(report);
+    }
+
+    private static void assertNoSeatSoldTwice(SimulationReport report) {
+        Map<Long, Long> successesPerSeat = report.successfulSeatIds().stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        successesPerSeat.forEach((seatId, successes) ->
+                assertEquals(1L, successes, "Seat " + seatId + " was sold " + successes + " times"));
+    }
+
+    private void assertEverySalePublishedOnce(SimulationReport report) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + OUTBOX_DRAIN_TIMEOUT_MILLIS;
+        while (outboxRepository.count() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Outbox not drained within " + OUTBOX_DRAIN_TIMEOUT_MILLIS + " ms");
+            }
+            Thread.sleep(50);
+        }
+
+        List<TicketSoldEvent> published = ((LocalStandIns.RecordingEventProducer) bookingEventProducer).published();
+        Map<Long, Long> eventsPerSeat = published.stream()
+                .collect(Collectors.groupingBy(TicketSoldEvent::seatId, Collectors.counting()));
+
+        assertEquals(new HashSet<>(report.successfulSeatIds()), eventsPerSeat.keySet(),
+                "Published events must cover exactly the seats answered with SUCCESS");
+        eventsPerSeat.forEach((seatId, events) ->
+                assertEquals(1L, events, "Seat " + seatId + " produced " + events + " events"));
+        assertTrue(published.stream().map(TicketSoldEvent::eventId).distinct().count() == published.size(),
+                "Event ids must be unique");
+    }
+}
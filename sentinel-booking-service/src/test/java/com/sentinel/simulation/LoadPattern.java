@@ -0,0 +1,43 @@
+package com.sentinel.simulation;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How simulated clients pick the seat they try to reserve.
+ */
+enum LoadPattern {
+
+    /** Most clients fight over a handful of "best" seats, the rest spread over the venue. */
+    HOT_SEAT {
+        @Override
+        long pick(List<Long> seatIds, long sequence, SimulationSettings settings) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int hotSeats = Math.min(settings.hotSeats(), seatIds.size());
+            boolean hot = random.nextDouble() < settings.hotRatio();
+            return seatIds.get(random.nextInt(hot ? hotSeats : seatIds.size()));
+        }
+    },
+
+    /** Every seat is equally likely. */
+    UNIFORM {
+        @Override
+        long pick(List<Long> seatIds, long sequence, SimulationSettings settings) {
+            return seatIds.get(ThreadLocalRandom.current().nextInt(seatIds.size()));
+        }
+    },
+
+    /** Clients walk the seat map in order, wrapping around once it is sold out. */
+    SEQUENTIAL {
+        @Override
+        long pick(List<Long> seatIds, long sequence, SimulationSettings settings) {
+            return seatIds.get((int) (sequence % seatIds.size()));
+        }
+    };
+
+    /**
+     * @param seatIds  all seat ids of the venue, in id order
+     * @param sequence global index of the request within the simulation
+     */
+    abstract long pick(List<Long> seatIds, long sequence, SimulationSettings settings);
+}
@@ -0,0 +1,132 @@
+package com.sentinel.simulation;
+
+import com.nexus.schema.ticketing.TicketSoldEvent;
+import com.sentinel.producer.BookingEventProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.invocation.InvocationOnMock;
+import org.redisson.api.RBitSet;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * In-JVM replacements for the infrastructure the booking path talks to.
+ * <p>
+ * Only the Redisson calls made by the single-seat LOCK and CONDITIONAL_UPDATE paths are emulated:
+ * {@code getLock} (a {@link ReentrantLock} per key, lease time ignored), {@code getBitSet} and the
+ * {@code getBucket} operations of seat holds and sale fences (TTL ignored).
+ * The REDIS_SCRIPT engine needs a real Redis and is not supported here.
+ */
+final class LocalStandIns {
+
+    private LocalStandIns() {
+    }
+
+    static RedissonClient redisson() {
+        Map<String, RLock> locks = new ConcurrentHashMap<>();
+        Map<String, RBitSet> bitSets = new ConcurrentHashMap<>();
+        Map<String, RBucket<?>> buckets = new ConcurrentHashMap<>();
+
+        return mock(RedissonClient.class, withSettings().stubOnly().defaultAnswer(call -> switch (call.getMethod().getName()) {
+            case "getLock" -> locks.computeIfAbsent(call.getArgument(0), name -> lock());
+            case "getBitSet" -> bitSets.computeIfAbsent(call.getArgument(0), name -> bitSet());
+            case "getBucket" -> buckets.computeIfAbsent(call.getArgument(0), name -> bucket());
+            default -> RETURNS_DEFAULTS.answer(call);
+        }));
+    }
+
+    private static RLock lock() {
+        ReentrantLock delegate = new ReentrantLock();
+
+        return mock(RLock.class, withSettings().stubOnly().defaultAnswer(call -> switch (call.getMethod().getName()) {
+            case "tryLock" -> tryLock(delegate, call);
+            case "unlock" -> {
+                delegate.unlock();
+                yield null;
+            }
+            case "isHeldByCurrentThread" -> delegate.isHeldByCurrentThread();
+            default -> RETURNS_DEFAULTS.answer(call);
+        }));
+    }
+
+    private static boolean tryLock(ReentrantLock delegate, InvocationOnMock call) throws InterruptedException {
+        return switch (call.getArguments().length) {
+            case 0 -> delegate.tryLock();
+            case 2 -> delegate.tryLock(call.getArgument(0), call.getArgument(1));
+            default -> delegate.tryLock(call.getArgument(0), call.<TimeUnit>getArgument(2));
+        };
+    }
+
+    private static RBitSet bitSet() {
+        Set<Long> bits = ConcurrentHashMap.newKeySet();
+
+        return mock(RBitSet.class, withSettings().stubOnly().defaultAnswer(call -> switch (call.getMethod().getName()) {
+            case "get" -> bits.contains(call.<Long>getArgument(0));
+            case "setAsync" -> {
+                bits.add(call.getArgument(0));
+                yield null;
+            }
+            default -> RETURNS_DEFAULTS.answer(call);
+        }));
+    }
+
+    private static RBucket<?> bucket() {
+        AtomicReference<Object> value = new AtomicReference<>();
+
+        return mock(RBucket.class, withSettings().stubOnly().defaultAnswer(call -> switch (call.getMethod().getName()) {
+            case "get" -> value.get();
+            case "isExists" -> value.get() != null;
+            case "setIfAbsent" -> value.compareAndSet(null, call.getArgument(0));
+            case "compareAndSet" -> {
+                Object current = value.get();
+                yield Objects.equals(current, call.getArgument(0)) && value.compareAndSet(current, call.getArgument(1));
+            }
+            case "compareAndSetAsync" -> {
+                Object current = value.get();
+                yield new CompletableFutureWrapper<>(
+                        Objects.equals(current, call.getArgument(0)) && value.compareAndSet(current, call.getArgument(1)));
+            }
+            default -> RETURNS_DEFAULTS.answer(call);
+        }));
+    }
+
+    /**
+     * Stand-in for the Kafka producer: acknowledges every send immediately and keeps the event.
+     */
+    static class RecordingEventProducer extends BookingEventProducer {
+
+        private final Queue<TicketSoldEvent> published = new ConcurrentLinkedQueue<>();
+
+        RecordingEventProducer() {
+            super(null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, Object>> emit(TicketSoldEvent event) {
+            published.add(event);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<TicketSoldEvent> published() {
+            return List.copyOf(published);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sentinel.simulation;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of one simulation run: every response, plus throughput and latency percentiles.
+ */
+record SimulationReport(LoadPattern pattern, List<Response> responses, Duration elapsed) {
+
+    /**
+     * @param outcome   {@code SUCCESS}, {@code TAKEN}, {@code RETRY}, {@code WAITING_ROOM_FULL},
+     *                  {@code HTTP_<code>} or {@code CLIENT_ERROR}
+     * @param latencyNanos client-side latency of the request
+     */
+    record Response(long seatId, String outcome, long latencyNanos) {
+    }
+
+    List<Long> successfulSeatIds() {
+        return responses.stream().filter(r -> "SUCCESS".equals(r.outcome())).map(Response::seatId).toList();
+    }
+
+    Map<String, Long> outcomes() {
+        return responses.stream().collect(Collectors.groupingBy(Response::outcome, TreeMap::new, Collectors.counting()));
+    }
+
+    double throughput() {
+        return responses.size() / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * Nearest-rank percentile of the client-side latency, in milliseconds.
+     */
+    double percentileMillis(double percentile) {
+        long[] sorted = responses.stream().mapToLong(Response::latencyNanos).toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    String summary() {
+        return String.format("""
+                        Flash-sale simulation [%s]
+                          requests   : %d in %d ms (%.0f req/s)
+                          latency    : p50 %.2f ms | p99 %.2f ms | p999 %.2f ms
+                          outcomes   : %s""",
+                pattern, responses.size(), elapsed.toMillis(), throughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), outcomes());
+    }
+}
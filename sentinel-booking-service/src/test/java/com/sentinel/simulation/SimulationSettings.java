@@ -0,0 +1,25 @@
+package com.sentinel.simulation;
+
+/**
+ * Shape of a simulated on-sale. Every value can be overridden with a system property, e.g.
+ * {@code mvn -pl sentinel-booking-service test -Dtest=FlashSaleSimulationTests -Dsimulation.clients=2000}.
+ *
+ * @param clients  concurrent clients released together in each burst
+ * @param bursts   number of bursts; a burst starts once the previous one has fully completed
+ * @param hotSeats size of the contested seat pool for {@link LoadPattern#HOT_SEAT}
+ * @param hotRatio share of {@link LoadPattern#HOT_SEAT} requests that target the contested pool
+ */
+record SimulationSettings(int clients, int bursts, int hotSeats, double hotRatio) {
+
+    static SimulationSettings fromSystemProperties() {
+        return new SimulationSettings(
+                Integer.getInteger("simulation.clients", 250),
+                Integer.getInteger("simulation.bursts", 4),
+                Integer.getInteger("simulation.hot-seats", 10),
+                Double.parseDouble(System.getProperty("simulation.hot-ratio", "0.9")));
+    }
+
+    int totalRequests() {
+        return clients * bursts;
+    }
+}